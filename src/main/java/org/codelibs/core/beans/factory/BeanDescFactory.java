@@ -17,12 +17,16 @@ package org.codelibs.core.beans.factory;
 
 import static org.codelibs.core.collection.CollectionsUtil.newConcurrentHashMap;
 import static org.codelibs.core.collection.CollectionsUtil.putIfAbsent;
+import static org.codelibs.core.misc.AssertionUtil.assertArgument;
 import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
 
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.codelibs.core.beans.BeanDesc;
 import org.codelibs.core.beans.impl.BeanDescImpl;
+import org.codelibs.core.collection.ConcurrentLruHashMap;
 import org.codelibs.core.misc.Disposable;
 import org.codelibs.core.misc.DisposableUtil;
 
@@ -38,6 +42,16 @@ import org.codelibs.core.misc.DisposableUtil;
  * <p>
  * {@link BeanDesc} is cached. To clear the cache, call {@link DisposableUtil#dispose()}.
  * </p>
+ * <p>
+ * By default the cache holds every introspected class, and therefore its class loader, until it is
+ * cleared. {@link #setCacheMode(CacheMode, int)} switches to a cache bounded by size, or to a cache
+ * held by the classes themselves through {@link ClassValue}, whose entries are collected together
+ * with unloaded classes.
+ * </p>
+ * <p>
+ * Classes listed in a {@link BeanDescIndex} generated at build time are described from the index
+ * instead of scanning all of their members by reflection.
+ * </p>
  *
  * @author higa
  * @see BeanDesc
@@ -45,6 +59,24 @@ import org.codelibs.core.misc.DisposableUtil;
  */
 public abstract class BeanDescFactory {
 
+    /**
+     * The way {@link BeanDesc}s are cached.
+     */
+    public enum CacheMode {
+
+        /** Holds every {@link BeanDesc} until the cache is cleared (default). */
+        UNBOUNDED,
+
+        /** Holds up to a maximum number of {@link BeanDesc}s, discarding the least recently used one. */
+        BOUNDED,
+
+        /** Holds each {@link BeanDesc} in a {@link ClassValue}, so that it does not keep the class from being unloaded. */
+        CLASS_VALUE
+    }
+
+    /** Default upper limit on the number of {@link BeanDesc}s in {@link CacheMode#BOUNDED} mode */
+    public static final int DEFAULT_MAXIMUM_CACHE_SIZE = 1024;
+
     /**
      * Do not instantiate.
      */
@@ -55,7 +87,19 @@ public abstract class BeanDescFactory {
     private static volatile boolean initialized;
 
     /** Cache of {@link BeanDesc} */
-    private static final ConcurrentMap<Class<?>, BeanDesc> beanDescCache = newConcurrentHashMap(1024);
+    private static volatile Cache beanDescCache = new MapCache(newConcurrentHashMap(1024));
+
+    /** Current cache mode */
+    private static volatile CacheMode cacheMode = CacheMode.UNBOUNDED;
+
+    /** Number of lookups */
+    private static final LongAdder requestCount = new LongAdder();
+
+    /** Number of lookups that created a {@link BeanDesc} */
+    private static final LongAdder missCount = new LongAdder();
+
+    /** Incremented whenever the cached {@link BeanDesc}s are discarded */
+    private static final AtomicInteger generation = new AtomicInteger();
 
     /** Disposable that clears the cache; a single stable instance so it can be deregistered. */
     private static final Disposable DISPOSABLE = BeanDescFactory::clear;
@@ -77,11 +121,85 @@ public abstract class BeanDescFactory {
         if (!initialized) {
             initialize();
         }
-        BeanDesc beanDesc = beanDescCache.get(clazz);
-        if (beanDesc == null) {
-            beanDesc = putIfAbsent(beanDescCache, clazz, new BeanDescImpl(clazz));
+        requestCount.increment();
+        return beanDescCache.get(clazz);
+    }
+
+    /**
+     * Changes the way {@link BeanDesc}s are cached. The cached {@link BeanDesc}s and the statistics are discarded.
+     *
+     * @param mode
+     *            the cache mode. Must not be {@literal null}
+     * @param maximumSize
+     *            the upper limit on the number of {@link BeanDesc}s in {@link CacheMode#BOUNDED} mode; ignored in the other modes
+     */
+    public static synchronized void setCacheMode(final CacheMode mode, final int maximumSize) {
+        assertArgumentNotNull("mode", mode);
+        assertArgument("maximumSize", mode != CacheMode.BOUNDED || maximumSize > 0, "maximumSize must be positive.");
+
+        switch (mode) {
+        case BOUNDED:
+            beanDescCache = new MapCache(new ConcurrentLruHashMap<>(maximumSize));
+            break;
+        case CLASS_VALUE:
+            beanDescCache = new ClassValueCache();
+            break;
+        default:
+            beanDescCache = new MapCache(newConcurrentHashMap(1024));
+            break;
         }
-        return beanDesc;
+        cacheMode = mode;
+        generation.incrementAndGet();
+        requestCount.reset();
+        missCount.reset();
+    }
+
+    /**
+     * Changes the way {@link BeanDesc}s are cached, using {@link #DEFAULT_MAXIMUM_CACHE_SIZE} in {@link CacheMode#BOUNDED} mode.
+     *
+     * @param mode
+     *            the cache mode. Must not be {@literal null}
+     * @see #setCacheMode(CacheMode, int)
+     */
+    public static void setCacheMode(final CacheMode mode) {
+        setCacheMode(mode, DEFAULT_MAXIMUM_CACHE_SIZE);
+    }
+
+    /**
+     * Returns the current cache mode.
+     *
+     * @return the cache mode
+     */
+    public static CacheMode getCacheMode() {
+        return cacheMode;
+    }
+
+    /**
+     * Returns the generation of the cached {@link BeanDesc}s, which changes whenever they are discarded by {@link #clear()} or
+     * {@link #setCacheMode(CacheMode, int)}. Caches of data derived from {@link BeanDesc}s compare it to discard their entries as well.
+     *
+     * @return the generation
+     */
+    public static int getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Returns the number of lookups that found a cached {@link BeanDesc}.
+     *
+     * @return the number of hits
+     */
+    public static long getHitCount() {
+        return Math.max(0L, requestCount.sum() - missCount.sum());
+    }
+
+    /**
+     * Returns the number of lookups that had to introspect the class.
+     *
+     * @return the number of misses
+     */
+    public static long getMissCount() {
+        return missCount.sum();
     }
 
     /**
@@ -101,8 +219,86 @@ public abstract class BeanDescFactory {
      */
     public static void clear() {
         beanDescCache.clear();
+        generation.incrementAndGet();
+        BeanDescIndex.clear();
         DisposableUtil.remove(DISPOSABLE);
         initialized = false;
     }
 
+    /**
+     * Creates a {@link BeanDesc} for a cache miss.
+     *
+     * @param clazz
+     *            the Bean class
+     * @return {@link BeanDesc}
+     */
+    private static BeanDesc createBeanDesc(final Class<?> clazz) {
+        missCount.increment();
+        return new BeanDescImpl(clazz, BeanDescIndex.getEntry(clazz));
+    }
+
+    /**
+     * Storage of the cached {@link BeanDesc}s.
+     */
+    private interface Cache {
+
+        BeanDesc get(Class<?> clazz);
+
+        void clear();
+    }
+
+    /**
+     * {@link Cache} backed by a {@link ConcurrentMap} keyed by class.
+     */
+    private static final class MapCache implements Cache {
+
+        private final ConcurrentMap<Class<?>, BeanDesc> map;
+
+        MapCache(final ConcurrentMap<Class<?>, BeanDesc> map) {
+            this.map = map;
+        }
+
+        @Override
+        public BeanDesc get(final Class<?> clazz) {
+            final BeanDesc beanDesc = map.get(clazz);
+            if (beanDesc != null) {
+                return beanDesc;
+            }
+            return putIfAbsent(map, clazz, createBeanDesc(clazz));
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+    }
+
+    /**
+     * {@link Cache} that stores each {@link BeanDesc} in its class through a {@link ClassValue}. Clearing
+     * replaces the {@link ClassValue}, which releases the values held by every class.
+     */
+    private static final class ClassValueCache implements Cache {
+
+        private volatile ClassValue<BeanDesc> classValue = newClassValue();
+
+        private static ClassValue<BeanDesc> newClassValue() {
+            return new ClassValue<>() {
+                @Override
+                protected BeanDesc computeValue(final Class<?> type) {
+                    return createBeanDesc(type);
+                }
+            };
+        }
+
+        @Override
+        public BeanDesc get(final Class<?> clazz) {
+            return classValue.get(clazz);
+        }
+
+        @Override
+        public void clear() {
+            classValue = newClassValue();
+        }
+    }
+
 }
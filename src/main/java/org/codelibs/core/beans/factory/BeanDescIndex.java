@@ -0,0 +1,478 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.beans.factory;
+
+import static org.codelibs.core.collection.CollectionsUtil.newArrayList;
+import static org.codelibs.core.collection.CollectionsUtil.newHashMap;
+import static org.codelibs.core.misc.AssertionUtil.assertArgument;
+import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.zip.CRC32;
+
+import org.codelibs.core.beans.BeanDesc;
+import org.codelibs.core.beans.FieldDesc;
+import org.codelibs.core.beans.PropertyDesc;
+import org.codelibs.core.beans.impl.BeanDescImpl;
+import org.codelibs.core.exception.IORuntimeException;
+import org.codelibs.core.io.InputStreamUtil;
+import org.codelibs.core.lang.ClassUtil;
+
+/**
+ * A precomputed index of the properties and fields of Bean classes, generated at build time.
+ * <p>
+ * The index lists, for each class, the names of the accessor methods and fields that
+ * {@link BeanDescImpl} would find by reflection. When a class is found in an index,
+ * {@link BeanDescFactory} creates its {@link BeanDesc} by looking up only those members instead of
+ * introspecting every public method and declared field.
+ * </p>
+ * <p>
+ * Each entry also records a fingerprint of the class: the CRC-32 of the class files of the class and
+ * of its superclasses and interfaces. When the index is loaded, the checksums are compared with the
+ * class files of the class loader once, without reflection, and the entries of classes changed since
+ * the index was generated are dropped, so those classes fall back to reflection. An entry written
+ * without a fingerprint is never used.
+ * </p>
+ * <p>
+ * Indexes are read from the {@value #RESOURCE_NAME} resources of the class loader of the Bean
+ * class. Generate one in the build, for example with the <code>exec-maven-plugin</code> in the
+ * <code>process-classes</code> phase:
+ * </p>
+ *
+ * <pre>
+ * java -cp ... org.codelibs.core.beans.factory.BeanDescIndex target/classes/META-INF/corelib/beandesc.index com.example.Foo com.example.Bar
+ * </pre>
+ *
+ * @author shinsuke
+ */
+public final class BeanDescIndex {
+
+    /** Resource name of the index */
+    public static final String RESOURCE_NAME = "META-INF/corelib/beandesc.index";
+
+    /** Marker for a missing accessor method */
+    private static final String NONE = "-";
+
+    /** Parsed indexes per class loader */
+    private static final Map<ClassLoader, Map<String, Entry>> indexes = new WeakHashMap<>();
+
+    private BeanDescIndex() {
+    }
+
+    /**
+     * Returns the index entry of the class.
+     *
+     * @param clazz
+     *            the Bean class. Must not be {@literal null}
+     * @return the index entry, or {@literal null} if the class is not indexed
+     */
+    public static Entry getEntry(final Class<?> clazz) {
+        assertArgumentNotNull("clazz", clazz);
+
+        final ClassLoader loader = clazz.getClassLoader();
+        if (loader == null) {
+            return null;
+        }
+        Map<String, Entry> index;
+        synchronized (indexes) {
+            index = indexes.get(loader);
+            if (index == null) {
+                index = load(loader);
+                indexes.put(loader, index);
+            }
+        }
+        return index.get(clazz.getName());
+    }
+
+    /**
+     * Discards the parsed indexes.
+     */
+    public static void clear() {
+        synchronized (indexes) {
+            indexes.clear();
+        }
+    }
+
+    /**
+     * Writes the index of the classes.
+     *
+     * @param writer
+     *            the destination. Must not be {@literal null}
+     * @param classes
+     *            the Bean classes. Must not be {@literal null}
+     * @throws IORuntimeException
+     *             if an I/O error occurs
+     */
+    public static void write(final Writer writer, final Class<?>... classes) {
+        assertArgumentNotNull("writer", writer);
+        assertArgumentNotNull("classes", classes);
+
+        try {
+            for (final Class<?> clazz : classes) {
+                final BeanDesc beanDesc = new BeanDescImpl(clazz);
+                final String fingerprint = fingerprint(clazz);
+                writer.write("class\t" + clazz.getName() + "\t" + (fingerprint == null ? NONE : fingerprint) + "\n");
+                for (final PropertyDesc propertyDesc : beanDesc.getPropertyDescs()) {
+                    if (propertyDesc.getReadMethod() == null && propertyDesc.getWriteMethod() == null) {
+                        // public fields are registered as properties while the fields are set up
+                        continue;
+                    }
+                    writer.write("property\t" + propertyDesc.getPropertyName() + "\t" + propertyDesc.getPropertyType().getName() + "\t"
+                            + (propertyDesc.getReadMethod() == null ? NONE : propertyDesc.getReadMethod().getName()) + "\t"
+                            + (propertyDesc.getWriteMethod() == null ? NONE : propertyDesc.getWriteMethod().getName()) + "\n");
+                }
+                for (final FieldDesc fieldDesc : beanDesc.getFieldDescs()) {
+                    writer.write("field\t" + fieldDesc.getFieldName() + "\t" + fieldDesc.getField().getDeclaringClass().getName() + "\n");
+                }
+            }
+            writer.flush();
+        } catch (final IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * Generates an index file.
+     *
+     * @param args
+     *            the output file followed by the fully qualified names of the Bean classes
+     */
+    public static void main(final String... args) {
+        assertArgument("args", args.length >= 1, "Usage: BeanDescIndex <output file> <class name>...");
+
+        final Class<?>[] classes = new Class<?>[args.length - 1];
+        for (int i = 1; i < args.length; i++) {
+            classes[i - 1] = ClassUtil.forName(args[i]);
+        }
+        final File file = new File(args[0]);
+        final File dir = file.getParentFile();
+        try {
+            if (dir != null) {
+                Files.createDirectories(dir.toPath());
+            }
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                write(writer, classes);
+            }
+        } catch (final IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private static Map<String, Entry> load(final ClassLoader loader) {
+        final Map<String, Entry> index = newHashMap();
+        try {
+            final Enumeration<URL> urls = loader.getResources(RESOURCE_NAME);
+            while (urls.hasMoreElements()) {
+                try (BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(urls.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    parse(reader, index);
+                }
+            }
+        } catch (final IOException e) {
+            throw new IORuntimeException(e);
+        }
+        removeStaleEntries(loader, index);
+        return index;
+    }
+
+    /**
+     * Removes the entries whose fingerprint differs from the class files of the class loader.
+     *
+     * @param loader
+     *            the class loader
+     * @param index
+     *            the entries keyed by class name
+     */
+    static void removeStaleEntries(final ClassLoader loader, final Map<String, Entry> index) {
+        // a superclass is often shared by many entries
+        final Map<String, String> checksums = newHashMap();
+        index.values().removeIf(entry -> !isUpToDate(loader, entry, checksums));
+    }
+
+    private static boolean isUpToDate(final ClassLoader loader, final Entry entry, final Map<String, String> checksums) {
+        // the class itself comes first; a change of its supertypes changes its own class file
+        if (entry.fingerprint == null || !entry.fingerprint.startsWith(entry.className + "=")) {
+            return false;
+        }
+        for (final String part : entry.fingerprint.split(",")) {
+            final int pos = part.lastIndexOf('=');
+            if (pos < 0) {
+                return false;
+            }
+            final String className = part.substring(0, pos);
+            String checksum = checksums.get(className);
+            if (checksum == null) {
+                checksum = checksum(loader, className);
+                checksums.put(className, checksum == null ? NONE : checksum);
+            }
+            if (!part.substring(pos + 1).equals(checksum)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses an index.
+     *
+     * @param reader
+     *            the source
+     * @param index
+     *            the map to add the entries to, keyed by class name
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    static void parse(final BufferedReader reader, final Map<String, Entry> index) throws IOException {
+        Entry entry = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            final String[] columns = line.split("\t");
+            switch (columns[0]) {
+            case "class":
+                entry = new Entry(columns[1], columns.length >= 3 ? toNullable(columns[2]) : null);
+                index.put(entry.className, entry);
+                break;
+            case "property":
+                if (entry != null && columns.length == 5) {
+                    entry.properties.add(new PropertyEntry(columns[1], columns[2], toNullable(columns[3]), toNullable(columns[4])));
+                }
+                break;
+            case "field":
+                if (entry != null && columns.length == 3) {
+                    entry.fields.add(new FieldEntry(columns[1], columns[2]));
+                }
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns the fingerprint of the class: the CRC-32 of the class files of the class and of its
+     * superclasses and interfaces, except those of the bootstrap class loader.
+     *
+     * @param clazz
+     *            the Bean class. Must not be {@literal null}
+     * @return the fingerprint, or {@literal null} if a class file is not found
+     */
+    public static String fingerprint(final Class<?> clazz) {
+        assertArgumentNotNull("clazz", clazz);
+
+        final Set<Class<?>> types = new LinkedHashSet<>();
+        addTypes(clazz, types);
+        final StringBuilder buf = new StringBuilder();
+        for (final Class<?> type : types) {
+            final String checksum = checksum(type.getClassLoader(), type.getName());
+            if (checksum == null) {
+                return null;
+            }
+            if (buf.length() > 0) {
+                buf.append(',');
+            }
+            buf.append(type.getName()).append('=').append(checksum);
+        }
+        return buf.length() > 0 ? buf.toString() : null;
+    }
+
+    private static void addTypes(final Class<?> clazz, final Set<Class<?>> types) {
+        if (clazz == null || clazz.getClassLoader() == null || !types.add(clazz)) {
+            return;
+        }
+        addTypes(clazz.getSuperclass(), types);
+        for (final Class<?> intf : clazz.getInterfaces()) {
+            addTypes(intf, types);
+        }
+    }
+
+    private static String checksum(final ClassLoader loader, final String className) {
+        final URL url = loader.getResource(ClassUtil.getResourcePath(className));
+        if (url == null) {
+            return null;
+        }
+        try (InputStream is = url.openStream()) {
+            final CRC32 crc = new CRC32();
+            crc.update(InputStreamUtil.getBytes(is));
+            return Long.toHexString(crc.getValue());
+        } catch (final IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private static String toNullable(final String column) {
+        return NONE.equals(column) ? null : column;
+    }
+
+    /**
+     * The indexed members of a class.
+     */
+    public static final class Entry {
+
+        final String className;
+
+        final String fingerprint;
+
+        final List<PropertyEntry> properties = newArrayList();
+
+        final List<FieldEntry> fields = newArrayList();
+
+        Entry(final String className, final String fingerprint) {
+            this.className = className;
+            this.fingerprint = fingerprint;
+        }
+
+        /**
+         * Returns the class name.
+         *
+         * @return the class name
+         */
+        public String getClassName() {
+            return className;
+        }
+
+        /**
+         * Returns the fingerprint of the class when the index was generated.
+         *
+         * @return the fingerprint, or {@literal null} if the index has none
+         */
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Returns the properties that have an accessor method, in the order {@link BeanDescImpl} registers them.
+         *
+         * @return the properties
+         */
+        public List<PropertyEntry> getProperties() {
+            return Collections.unmodifiableList(properties);
+        }
+
+        /**
+         * Returns the fields, in the order {@link BeanDescImpl} registers them.
+         *
+         * @return the fields
+         */
+        public List<FieldEntry> getFields() {
+            return Collections.unmodifiableList(fields);
+        }
+    }
+
+    /**
+     * An indexed property.
+     */
+    public static final class PropertyEntry {
+
+        private final String propertyName;
+
+        private final String propertyTypeName;
+
+        private final String readMethodName;
+
+        private final String writeMethodName;
+
+        PropertyEntry(final String propertyName, final String propertyTypeName, final String readMethodName, final String writeMethodName) {
+            this.propertyName = propertyName;
+            this.propertyTypeName = propertyTypeName;
+            this.readMethodName = readMethodName;
+            this.writeMethodName = writeMethodName;
+        }
+
+        /**
+         * Returns the property name.
+         *
+         * @return the property name
+         */
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        /**
+         * Returns the name of the property type as returned by {@link Class#getName()}.
+         *
+         * @return the name of the property type
+         */
+        public String getPropertyTypeName() {
+            return propertyTypeName;
+        }
+
+        /**
+         * Returns the name of the getter method.
+         *
+         * @return the name of the getter method, or {@literal null} if the property is not readable
+         */
+        public String getReadMethodName() {
+            return readMethodName;
+        }
+
+        /**
+         * Returns the name of the setter method.
+         *
+         * @return the name of the setter method, or {@literal null} if the property is not writable
+         */
+        public String getWriteMethodName() {
+            return writeMethodName;
+        }
+    }
+
+    /**
+     * An indexed field.
+     */
+    public static final class FieldEntry {
+
+        private final String fieldName;
+
+        private final String declaringClassName;
+
+        FieldEntry(final String fieldName, final String declaringClassName) {
+            this.fieldName = fieldName;
+            this.declaringClassName = declaringClassName;
+        }
+
+        /**
+         * Returns the field name.
+         *
+         * @return the field name
+         */
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        /**
+         * Returns the name of the class or interface that declares the field.
+         *
+         * @return the name of the declaring class
+         */
+        public String getDeclaringClassName() {
+            return declaringClassName;
+        }
+    }
+}
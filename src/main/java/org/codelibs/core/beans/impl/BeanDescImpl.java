@@ -17,6 +17,7 @@ package org.codelibs.core.beans.impl;
 
 import static java.util.Collections.unmodifiableCollection;
 import static org.codelibs.core.collection.CollectionsUtil.newArrayList;
+import static org.codelibs.core.collection.CollectionsUtil.newConcurrentHashMap;
 import static org.codelibs.core.collection.CollectionsUtil.newHashMap;
 import static org.codelibs.core.collection.CollectionsUtil.newHashSet;
 import static org.codelibs.core.lang.GenericsUtil.getActualClass;
@@ -35,7 +36,9 @@ import java.lang.reflect.TypeVariable;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import org.codelibs.core.beans.BeanDesc;
 import org.codelibs.core.beans.ConstructorDesc;
@@ -43,6 +46,7 @@ import org.codelibs.core.beans.FieldDesc;
 import org.codelibs.core.beans.MethodDesc;
 import org.codelibs.core.beans.ParameterizedClassDesc;
 import org.codelibs.core.beans.PropertyDesc;
+import org.codelibs.core.beans.factory.BeanDescIndex;
 import org.codelibs.core.collection.ArrayMap;
 import org.codelibs.core.collection.CaseInsensitiveMap;
 import org.codelibs.core.convert.ByteConversionUtil;
@@ -52,6 +56,7 @@ import org.codelibs.core.convert.IntegerConversionUtil;
 import org.codelibs.core.convert.LongConversionUtil;
 import org.codelibs.core.convert.ShortConversionUtil;
 import org.codelibs.core.exception.BeanFieldSetAccessibleFailureException;
+import org.codelibs.core.exception.ClassNotFoundRuntimeException;
 import org.codelibs.core.exception.ConstructorNotFoundRuntimeException;
 import org.codelibs.core.exception.FieldNotFoundRuntimeException;
 import org.codelibs.core.exception.MethodNotFoundRuntimeException;
@@ -62,6 +67,12 @@ import org.codelibs.core.lang.StringUtil;
 
 /**
  * Implementation class of {@link BeanDesc}.
+ * <p>
+ * The descriptors are introspected lazily and independently on first use: properties together with
+ * fields, constructors, and methods. Looking up a property therefore does not pay for building the
+ * {@link MethodDesc}s of every public method. Each family is set up once under the monitor of this
+ * instance and is read without locking afterwards.
+ * </p>
  *
  * @author higa
  */
@@ -73,6 +84,12 @@ public class BeanDescImpl implements BeanDesc {
     /** Empty class array */
     protected static final Class<?>[] EMPTY_PARAM_TYPES = new Class<?>[0];
 
+    /** Upper limit on the number of entries in {@link #dispatchCache} */
+    protected static final int MAX_DISPATCH_CACHE_SIZE = 256;
+
+    /** Value of {@link #dispatchCache} telling that only a number-adjusting match is possible */
+    private static final Object NO_STRICT_MATCH = new Object();
+
     /** The class of the bean */
     protected final Class<?> beanClass;
 
@@ -94,6 +111,28 @@ public class BeanDescImpl implements BeanDesc {
     /** Set of invalid property names */
     protected final Set<String> invalidPropertyNames = newHashSet();
 
+    /**
+     * Cache of suitable constructors and methods, keyed by method name and runtime argument classes.
+     * <p>
+     * Whether the argument classes match the parameter types without number adjustment depends on the
+     * classes only, so such a match is cached as the {@link ConstructorDesc} or {@link MethodDesc} itself.
+     * Number adjustment depends on the argument values, so for it only the failure of the exact match is cached.
+     * </p>
+     */
+    protected final ConcurrentMap<DispatchKey, Object> dispatchCache = newConcurrentHashMap();
+
+    /** Precomputed index of the properties and fields, or {@literal null} */
+    protected final BeanDescIndex.Entry indexEntry;
+
+    /** True if {@link PropertyDesc}s and {@link FieldDesc}s are prepared */
+    private volatile boolean propertyDescsPrepared;
+
+    /** True if {@link ConstructorDesc}s are prepared */
+    private volatile boolean constructorDescsPrepared;
+
+    /** True if {@link MethodDesc}s are prepared */
+    private volatile boolean methodDescsPrepared;
+
     /**
      * Creates a {@link BeanDescImpl}.
      *
@@ -101,14 +140,23 @@ public class BeanDescImpl implements BeanDesc {
      *            the class of the bean. Must not be {@literal null}
      */
     public BeanDescImpl(final Class<?> beanClass) {
+        this(beanClass, null);
+    }
+
+    /**
+     * Creates a {@link BeanDescImpl} that prepares its properties and fields from a {@link BeanDescIndex}.
+     *
+     * @param beanClass
+     *            the class of the bean. Must not be {@literal null}
+     * @param indexEntry
+     *            the index entry of the class, or {@literal null} to use reflection
+     */
+    public BeanDescImpl(final Class<?> beanClass, final BeanDescIndex.Entry indexEntry) {
         assertArgumentNotNull("beanClass", beanClass);
 
         this.beanClass = beanClass;
+        this.indexEntry = indexEntry;
         typeVariables = getTypeVariableMap(beanClass);
-        setupConstructorDescs();
-        setupPropertyDescs();
-        setupMethodDescs();
-        setupFieldDescs();
     }
 
     @SuppressWarnings("unchecked")
@@ -126,6 +174,7 @@ public class BeanDescImpl implements BeanDesc {
     public boolean hasPropertyDesc(final String propertyName) {
         assertArgumentNotEmpty("propertyName", propertyName);
 
+        preparePropertyDescs();
         return propertyDescCache.get(propertyName) != null;
     }
 
@@ -133,6 +182,7 @@ public class BeanDescImpl implements BeanDesc {
     public PropertyDesc getPropertyDesc(final String propertyName) {
         assertArgumentNotEmpty("propertyName", propertyName);
 
+        preparePropertyDescs();
         final PropertyDesc pd = propertyDescCache.get(propertyName);
         if (pd == null) {
             throw new PropertyNotFoundRuntimeException(beanClass, propertyName);
@@ -149,11 +199,13 @@ public class BeanDescImpl implements BeanDesc {
 
     @Override
     public int getPropertyDescSize() {
+        preparePropertyDescs();
         return propertyDescCache.size();
     }
 
     @Override
     public Iterable<PropertyDesc> getPropertyDescs() {
+        preparePropertyDescs();
         return unmodifiableCollection(propertyDescCache.values());
     }
 
@@ -161,6 +213,7 @@ public class BeanDescImpl implements BeanDesc {
     public boolean hasFieldDesc(final String fieldName) {
         assertArgumentNotEmpty("fieldName", fieldName);
 
+        preparePropertyDescs();
         return fieldDescCache.containsKey(fieldName);
     }
 
@@ -168,6 +221,7 @@ public class BeanDescImpl implements BeanDesc {
     public FieldDesc getFieldDesc(final String fieldName) {
         assertArgumentNotEmpty("fieldName", fieldName);
 
+        preparePropertyDescs();
         final FieldDesc fieldDesc = fieldDescCache.get(fieldName);
         if (fieldDesc == null) {
             throw new FieldNotFoundRuntimeException(beanClass, fieldName);
@@ -184,11 +238,13 @@ public class BeanDescImpl implements BeanDesc {
 
     @Override
     public int getFieldDescSize() {
+        preparePropertyDescs();
         return fieldDescCache.size();
     }
 
     @Override
     public Iterable<FieldDesc> getFieldDescs() {
+        preparePropertyDescs();
         return unmodifiableCollection(fieldDescCache.values());
     }
 
@@ -200,6 +256,7 @@ public class BeanDescImpl implements BeanDesc {
 
     @Override
     public ConstructorDesc getConstructorDesc(final Class<?>... paramTypes) {
+        prepareConstructorDescs();
         for (final ConstructorDesc constructorDesc : constructorDescs) {
             if (Arrays.equals(paramTypes, constructorDesc.getParameterTypes())) {
                 return constructorDesc;
@@ -210,9 +267,19 @@ public class BeanDescImpl implements BeanDesc {
 
     @Override
     public ConstructorDesc getSuitableConstructorDesc(final Object... args) {
-        ConstructorDesc constructorDesc = findSuitableConstructorDesc(args);
-        if (constructorDesc != null) {
-            return constructorDesc;
+        prepareConstructorDescs();
+        final DispatchKey key = new DispatchKey(null, args);
+        final Object cached = dispatchCache.get(key);
+        ConstructorDesc constructorDesc;
+        if (cached instanceof ConstructorDesc) {
+            return (ConstructorDesc) cached;
+        }
+        if (cached == null) {
+            constructorDesc = findSuitableConstructorDesc(args);
+            putDispatchCache(key, constructorDesc);
+            if (constructorDesc != null) {
+                return constructorDesc;
+            }
         }
         constructorDesc = findSuitableConstructorDescAdjustNumber(args);
         if (constructorDesc != null) {
@@ -223,16 +290,19 @@ public class BeanDescImpl implements BeanDesc {
 
     @Override
     public ConstructorDesc getConstructorDesc(final int index) {
+        prepareConstructorDescs();
         return constructorDescs.get(index);
     }
 
     @Override
     public int getConstructorDescSize() {
+        prepareConstructorDescs();
         return constructorDescs.size();
     }
 
     @Override
     public Iterable<ConstructorDesc> getConstructorDescs() {
+        prepareConstructorDescs();
         return unmodifiableCollection(constructorDescs);
     }
 
@@ -251,6 +321,7 @@ public class BeanDescImpl implements BeanDesc {
     public MethodDesc getMethodDescNoException(final String methodName, final Class<?>... paramTypes) {
         assertArgumentNotEmpty("methodName", methodName);
 
+        prepareMethodDescs();
         final MethodDesc[] methodDescs = methodDescsCache.get(methodName);
         if (methodDescs == null) {
             return null;
@@ -267,10 +338,19 @@ public class BeanDescImpl implements BeanDesc {
     public MethodDesc getSuitableMethodDesc(final String methodName, final Object... args) {
         assertArgumentNotEmpty("methodName", methodName);
 
+        final DispatchKey key = new DispatchKey(methodName, args);
+        final Object cached = dispatchCache.get(key);
+        if (cached instanceof MethodDesc) {
+            return (MethodDesc) cached;
+        }
         final MethodDesc[] methodDescs = getMethodDescs(methodName);
-        MethodDesc methodDesc = findSuitableMethod(methodDescs, args);
-        if (methodDesc != null) {
-            return methodDesc;
+        MethodDesc methodDesc;
+        if (cached == null) {
+            methodDesc = findSuitableMethod(methodDescs, args);
+            putDispatchCache(key, methodDesc);
+            if (methodDesc != null) {
+                return methodDesc;
+            }
         }
         methodDesc = findSuitableMethodDescAdjustNumber(methodDescs, args);
         if (methodDesc != null) {
@@ -283,6 +363,7 @@ public class BeanDescImpl implements BeanDesc {
     public MethodDesc[] getMethodDescs(final String methodName) {
         assertArgumentNotEmpty("methodName", methodName);
 
+        prepareMethodDescs();
         final MethodDesc[] methodDescs = methodDescsCache.get(methodName);
         if (methodDescs == null) {
             throw new MethodNotFoundRuntimeException(beanClass, methodName, null);
@@ -294,11 +375,13 @@ public class BeanDescImpl implements BeanDesc {
     public boolean hasMethodDesc(final String methodName) {
         assertArgumentNotEmpty("methodName", methodName);
 
+        prepareMethodDescs();
         return methodDescsCache.containsKey(methodName);
     }
 
     @Override
     public String[] getMethodNames() {
+        prepareMethodDescs();
         return methodDescsCache.keySet().toArray(new String[methodDescsCache.size()]);
     }
 
@@ -310,9 +393,24 @@ public class BeanDescImpl implements BeanDesc {
      * @return the {@link PropertyDesc}, or {@literal null} if the property does not exist
      */
     protected PropertyDesc getPropertyDescNoException(final String propertyName) {
+        preparePropertyDescs();
         return propertyDescCache.get(propertyName);
     }
 
+    /**
+     * Caches the result of the exact match for the key.
+     *
+     * @param key
+     *            the key
+     * @param desc
+     *            the {@link ConstructorDesc} or {@link MethodDesc} that matched, or {@literal null} if none matched
+     */
+    protected void putDispatchCache(final DispatchKey key, final Object desc) {
+        if (dispatchCache.size() < MAX_DISPATCH_CACHE_SIZE) {
+            dispatchCache.put(key, desc != null ? desc : NO_STRICT_MATCH);
+        }
+    }
+
     /**
      * Returns a {@link ConstructorDesc} that matches the given arguments.
      *
@@ -321,6 +419,7 @@ public class BeanDescImpl implements BeanDesc {
      * @return a {@link ConstructorDesc} that matches the arguments, or {@literal null} if none exists
      */
     protected ConstructorDesc findSuitableConstructorDesc(final Object... args) {
+        prepareConstructorDescs();
         for (final ConstructorDesc constructorDesc : constructorDescs) {
             if (isSuitable(constructorDesc.getParameterTypes(), args, false)) {
                 return constructorDesc;
@@ -340,6 +439,7 @@ public class BeanDescImpl implements BeanDesc {
      * @return a {@link ConstructorDesc} that matches the arguments, or {@literal null} if none exists
      */
     protected ConstructorDesc findSuitableConstructorDescAdjustNumber(final Object... args) {
+        prepareConstructorDescs();
         for (final ConstructorDesc constructorDesc : constructorDescs) {
             if (isSuitable(constructorDesc.getParameterTypes(), args, true)) {
                 return constructorDesc;
@@ -491,6 +591,100 @@ public class BeanDescImpl implements BeanDesc {
         return false;
     }
 
+    /**
+     * Prepares the {@link PropertyDesc}s and the {@link FieldDesc}s on first use.
+     * <p>
+     * Both are set up together because public fields are also exposed as properties.
+     * </p>
+     */
+    protected void preparePropertyDescs() {
+        if (propertyDescsPrepared) {
+            return;
+        }
+        synchronized (this) {
+            if (!propertyDescsPrepared) {
+                if (indexEntry == null || !setupDescsByIndex()) {
+                    setupPropertyDescs();
+                    setupFieldDescs();
+                }
+                propertyDescsPrepared = true;
+            }
+        }
+    }
+
+    /**
+     * Prepares the {@link ConstructorDesc}s on first use.
+     */
+    protected void prepareConstructorDescs() {
+        if (constructorDescsPrepared) {
+            return;
+        }
+        synchronized (this) {
+            if (!constructorDescsPrepared) {
+                setupConstructorDescs();
+                constructorDescsPrepared = true;
+            }
+        }
+    }
+
+    /**
+     * Prepares the {@link MethodDesc}s on first use.
+     */
+    protected void prepareMethodDescs() {
+        if (methodDescsPrepared) {
+            return;
+        }
+        synchronized (this) {
+            if (!methodDescsPrepared) {
+                setupMethodDescs();
+                methodDescsPrepared = true;
+            }
+        }
+    }
+
+    /**
+     * Prepares the {@link PropertyDesc}s and the {@link FieldDesc}s from {@link #indexEntry}.
+     * <p>
+     * Only the indexed members are looked up. The entries of changed classes are dropped when the index
+     * is loaded. If an indexed member no longer exists or has another type, nothing is registered and
+     * {@literal false} is returned so that reflection is used instead.
+     * </p>
+     *
+     * @return {@literal true} if the index matched the class
+     */
+    protected boolean setupDescsByIndex() {
+        try {
+            for (final BeanDescIndex.PropertyEntry entry : indexEntry.getProperties()) {
+                final Method readMethod = entry.getReadMethodName() == null ? null : beanClass.getMethod(entry.getReadMethodName());
+                final Class<?> propertyType;
+                if (readMethod != null) {
+                    propertyType = readMethod.getReturnType();
+                    if (!propertyType.getName().equals(entry.getPropertyTypeName())) {
+                        throw new NoSuchMethodException(entry.getReadMethodName());
+                    }
+                } else {
+                    propertyType = ClassUtil.convertClass(entry.getPropertyTypeName(), beanClass.getClassLoader());
+                }
+                final Method writeMethod =
+                        entry.getWriteMethodName() == null ? null : beanClass.getMethod(entry.getWriteMethodName(), propertyType);
+                addPropertyDesc(new PropertyDescImpl(entry.getPropertyName(), propertyType, readMethod, writeMethod, null, this));
+            }
+            for (final BeanDescIndex.FieldEntry entry : indexEntry.getFields()) {
+                final Class<?> declaringClass = entry.getDeclaringClassName().equals(beanClass.getName()) ? beanClass
+                        : Class.forName(entry.getDeclaringClassName(), false, beanClass.getClassLoader());
+                if (!declaringClass.isAssignableFrom(beanClass)) {
+                    throw new NoSuchFieldException(entry.getFieldName());
+                }
+                addFieldDesc(declaringClass.getDeclaredField(entry.getFieldName()));
+            }
+            return true;
+        } catch (final ReflectiveOperationException | ClassNotFoundRuntimeException | LinkageError e) {
+            propertyDescCache.clear();
+            fieldDescCache.clear();
+            return false;
+        }
+    }
+
     /**
      * Prepares {@link PropertyDesc}.
      */
@@ -682,25 +876,38 @@ public class BeanDescImpl implements BeanDesc {
      */
     protected void addFieldDescs(final Class<?> clazz) {
         for (final Field field : clazz.getDeclaredFields()) {
-            final String fname = field.getName();
-            if (fieldDescCache.containsKey(fname)) {
-                continue;
-            }
-            setFieldAccessible(field);
-            final FieldDescImpl fieldDesc = new FieldDescImpl(this, field);
-            fieldDescCache.put(fname, fieldDesc);
-            if (!FieldUtil.isInstanceField(field)) {
-                continue;
-            }
-            if (hasPropertyDesc(fname)) {
-                final PropertyDescImpl pd = (PropertyDescImpl) propertyDescCache.get(field.getName());
-                pd.setField(field);
-                continue;
-            }
-            if (FieldUtil.isPublicField(field)) {
-                final PropertyDescImpl pd = new PropertyDescImpl(field.getName(), field.getType(), null, null, field, this);
-                propertyDescCache.put(fname, pd);
-            }
+            addFieldDesc(field);
+        }
+    }
+
+    /**
+     * Adds a field unless a field with the same name has already been added.
+     * <p>
+     * A public instance field is also registered as a property, or is set to the property of the same name.
+     * </p>
+     *
+     * @param field
+     *            the field
+     */
+    protected void addFieldDesc(final Field field) {
+        final String fname = field.getName();
+        if (fieldDescCache.containsKey(fname)) {
+            return;
+        }
+        setFieldAccessible(field);
+        final FieldDescImpl fieldDesc = new FieldDescImpl(this, field);
+        fieldDescCache.put(fname, fieldDesc);
+        if (!FieldUtil.isInstanceField(field)) {
+            return;
+        }
+        final PropertyDescImpl propertyDesc = (PropertyDescImpl) propertyDescCache.get(fname);
+        if (propertyDesc != null) {
+            propertyDesc.setField(field);
+            return;
+        }
+        if (FieldUtil.isPublicField(field)) {
+            final PropertyDescImpl pd = new PropertyDescImpl(field.getName(), field.getType(), null, null, field, this);
+            propertyDescCache.put(fname, pd);
         }
     }
 
@@ -749,4 +956,54 @@ public class BeanDescImpl implements BeanDesc {
         return desc;
     }
 
+    /**
+     * Key of {@link BeanDescImpl#dispatchCache} made of the method name and the classes of the arguments.
+     */
+    protected static final class DispatchKey {
+
+        private final String methodName;
+
+        private final Class<?>[] argTypes;
+
+        private final int hashCode;
+
+        /**
+         * Creates a key.
+         *
+         * @param methodName
+         *            the method name, or {@literal null} for constructors
+         * @param args
+         *            the arguments
+         */
+        DispatchKey(final String methodName, final Object[] args) {
+            this.methodName = methodName;
+            if (args == null || args.length == 0) {
+                argTypes = EMPTY_PARAM_TYPES;
+            } else {
+                argTypes = new Class<?>[args.length];
+                for (int i = 0; i < args.length; ++i) {
+                    argTypes[i] = args[i] == null ? null : args[i].getClass();
+                }
+            }
+            hashCode = 31 * Objects.hashCode(methodName) + Arrays.hashCode(argTypes);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DispatchKey)) {
+                return false;
+            }
+            final DispatchKey other = (DispatchKey) o;
+            return Objects.equals(methodName, other.methodName) && Arrays.equals(argTypes, other.argTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
 }
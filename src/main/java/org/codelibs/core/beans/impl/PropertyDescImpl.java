@@ -19,13 +19,14 @@ import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotEmpty;
 import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
 import static org.codelibs.core.misc.AssertionUtil.assertState;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
-import java.sql.Time;
-import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.Map;
 
@@ -33,23 +34,24 @@ import org.codelibs.core.beans.BeanDesc;
 import org.codelibs.core.beans.ParameterizedClassDesc;
 import org.codelibs.core.beans.PropertyDesc;
 import org.codelibs.core.beans.factory.ParameterizedClassDescFactory;
-import org.codelibs.core.convert.BooleanConversionUtil;
-import org.codelibs.core.convert.CalendarConversionUtil;
-import org.codelibs.core.convert.DateConversionUtil;
-import org.codelibs.core.convert.NumberConversionUtil;
-import org.codelibs.core.convert.TimeConversionUtil;
-import org.codelibs.core.convert.TimestampConversionUtil;
+import org.codelibs.core.convert.ConverterRegistry;
+import org.codelibs.core.convert.TypeConverter;
 import org.codelibs.core.exception.BeanMethodSetAccessibleFailureException;
 import org.codelibs.core.exception.ClIllegalArgumentException;
 import org.codelibs.core.exception.IllegalPropertyRuntimeException;
-import org.codelibs.core.exception.ParseRuntimeException;
-import org.codelibs.core.lang.ConstructorUtil;
+import org.codelibs.core.exception.InvocationTargetRuntimeException;
 import org.codelibs.core.lang.FieldUtil;
 import org.codelibs.core.lang.MethodUtil;
 import org.codelibs.core.lang.ModifierUtil;
 
 /**
  * Implementation class of {@link PropertyDesc}.
+ * <p>
+ * The getter and setter (or the public field) are resolved once into {@link MethodHandle}s, so that
+ * {@link #getValue(Object)} and {@link #setValue(Object, Object)} do not go through
+ * {@link Method#invoke(Object, Object...)}. Reflection is used when a handle cannot be created.
+ * The {@link TypeConverter} of the property type is likewise obtained once from {@link ConverterRegistry}.
+ * </p>
  *
  * @author higa
  */
@@ -57,6 +59,10 @@ public class PropertyDescImpl implements PropertyDesc {
 
     private static final Object[] EMPTY_ARGS = new Object[0];
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
     private final String propertyName;
 
     private final Class<?> propertyType;
@@ -69,16 +75,18 @@ public class PropertyDescImpl implements PropertyDesc {
 
     private final BeanDesc beanDesc;
 
-    private Constructor<?> stringConstructor;
-
-    private Method valueOfMethod;
-
     private boolean readable = false;
 
     private boolean writable = false;
 
     private ParameterizedClassDesc parameterizedClassDesc;
 
+    private MethodHandle readHandle;
+
+    private MethodHandle writeHandle;
+
+    private final TypeConverter converter;
+
     /**
      * Creates an instance of {@link PropertyDescImpl}.
      *
@@ -126,33 +134,10 @@ public class PropertyDescImpl implements PropertyDesc {
         setWriteMethod(writeMethod);
         setField(field);
         this.beanDesc = beanDesc;
-        setupStringConstructor();
-        setupValueOfMethod();
+        converter = ConverterRegistry.getConverter(propertyType);
         setUpParameterizedClassDesc();
     }
 
-    private void setupStringConstructor() {
-        for (final Constructor<?> con : propertyType.getConstructors()) {
-            if (con.getParameterTypes().length == 1 && con.getParameterTypes()[0].equals(String.class)) {
-                stringConstructor = con;
-                break;
-            }
-        }
-    }
-
-    private void setupValueOfMethod() {
-        for (final Method method : propertyType.getMethods()) {
-            if (method.isBridge() || method.isSynthetic()) {
-                continue;
-            }
-            if (ModifierUtil.isStatic(method.getModifiers()) && method.getName().equals("valueOf") && method.getParameterTypes().length == 1
-                    && method.getParameterTypes()[0].equals(String.class)) {
-                valueOfMethod = method;
-                break;
-            }
-        }
-    }
-
     private void setUpParameterizedClassDesc() {
         final Map<TypeVariable<?>, Type> typeVariables = beanDesc.getTypeVariables();
         if (field != null) {
@@ -192,6 +177,7 @@ public class PropertyDescImpl implements PropertyDesc {
             readable = true;
             setMethodAccessible(readMethod);
         }
+        setUpAccessors();
     }
 
     @Override
@@ -216,6 +202,7 @@ public class PropertyDescImpl implements PropertyDesc {
             writable = true;
             setMethodAccessible(writeMethod);
         }
+        setUpAccessors();
     }
 
     @Override
@@ -258,6 +245,52 @@ public class PropertyDescImpl implements PropertyDesc {
             readable = true;
             writable = true;
         }
+        setUpAccessors();
+    }
+
+    private void setUpAccessors() {
+        if (readMethod != null) {
+            readHandle = toGetter(readMethod);
+        } else {
+            readHandle = field != null && ModifierUtil.isPublic(field) ? toGetter(field) : null;
+        }
+        if (writeMethod != null) {
+            writeHandle = toSetter(writeMethod);
+        } else {
+            writeHandle = field != null && ModifierUtil.isPublic(field) ? toSetter(field) : null;
+        }
+    }
+
+    private static MethodHandle toGetter(final Method method) {
+        try {
+            return MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+        } catch (final IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle toGetter(final Field field) {
+        try {
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (final IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle toSetter(final Method method) {
+        try {
+            return MethodHandles.lookup().unreflect(method).asType(SETTER_TYPE);
+        } catch (final IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle toSetter(final Field field) {
+        try {
+            return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (final IllegalAccessException | RuntimeException e) {
+            return null;
+        }
     }
 
     @Override
@@ -270,12 +303,17 @@ public class PropertyDescImpl implements PropertyDesc {
         return writable;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T> T getValue(final Object target) {
         assertArgumentNotNull("target", target);
 
         try {
             assertState(readable, propertyName + " is not readable.");
+            final MethodHandle handle = readHandle;
+            if (handle != null) {
+                return (T) invokeGetter(handle, target);
+            }
             if (hasReadMethod()) {
                 return MethodUtil.invoke(readMethod, target, EMPTY_ARGS);
             }
@@ -294,7 +332,12 @@ public class PropertyDescImpl implements PropertyDesc {
             assertState(writable, propertyName + " is not writable.");
             if (hasWriteMethod()) {
                 try {
-                    MethodUtil.invoke(writeMethod, target, convertedValue);
+                    final MethodHandle handle = writeHandle;
+                    if (handle != null) {
+                        invokeSetter(handle, target, convertedValue);
+                    } else {
+                        MethodUtil.invoke(writeMethod, target, convertedValue);
+                    }
                 } catch (final Throwable t) {
                     final Class<?> clazz = writeMethod.getDeclaringClass();
                     final Class<?> valueClass = convertedValue == null ? null : convertedValue.getClass();
@@ -306,6 +349,8 @@ public class PropertyDescImpl implements PropertyDesc {
                                     targetClass == null ? null : targetClass.getName(),
                                     targetClass == null ? null : targetClass.getClassLoader() }).initCause(t);
                 }
+            } else if (writeHandle != null) {
+                invokeSetter(writeHandle, target, convertedValue);
             } else {
                 FieldUtil.set(field, target, convertedValue);
             }
@@ -314,6 +359,26 @@ public class PropertyDescImpl implements PropertyDesc {
         }
     }
 
+    private Object invokeGetter(final MethodHandle handle, final Object target) {
+        try {
+            return handle.invokeExact(target);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new InvocationTargetRuntimeException(beanDesc.getBeanClass(), new InvocationTargetException(t));
+        }
+    }
+
+    private void invokeSetter(final MethodHandle handle, final Object target, final Object value) {
+        try {
+            handle.invokeExact(target, value);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new InvocationTargetRuntimeException(beanDesc.getBeanClass(), new InvocationTargetException(t));
+        }
+    }
+
     @Override
     public BeanDesc getBeanDesc() {
         return beanDesc;
@@ -336,61 +401,7 @@ public class PropertyDescImpl implements PropertyDesc {
     @SuppressWarnings("unchecked")
     @Override
     public <T> T convertIfNeed(final Object arg) {
-        if (propertyType.isPrimitive()) {
-            return (T) convertPrimitiveWrapper(arg);
-        } else if (Number.class.isAssignableFrom(propertyType)) {
-            return (T) convertNumber(arg);
-        } else if (java.util.Date.class.isAssignableFrom(propertyType)) {
-            return (T) convertDate(arg);
-        } else if (Boolean.class.isAssignableFrom(propertyType)) {
-            return (T) BooleanConversionUtil.toBoolean(arg);
-        } else if (arg != null && arg.getClass() != String.class && String.class == propertyType) {
-            return (T) arg.toString();
-        } else if (arg instanceof String && !String.class.equals(propertyType)) {
-            return (T) convertWithString(arg);
-        } else if (java.util.Calendar.class.isAssignableFrom(propertyType)) {
-            return (T) CalendarConversionUtil.toCalendar(arg);
-        }
-        return (T) arg;
-    }
-
-    private Object convertPrimitiveWrapper(final Object arg) {
-        return NumberConversionUtil.convertPrimitiveWrapper(propertyType, arg);
-    }
-
-    private Object convertNumber(final Object arg) {
-        return NumberConversionUtil.convertNumber(propertyType, arg);
-    }
-
-    private Object convertDate(final Object arg) {
-        if (propertyType == java.util.Date.class) {
-            try {
-                return TimestampConversionUtil.toDate(arg);
-            } catch (final ParseRuntimeException ex) {
-                try {
-                    return DateConversionUtil.toDate(arg);
-                } catch (final ParseRuntimeException ex2) {
-                    return TimeConversionUtil.toDate(arg);
-                }
-            }
-        } else if (propertyType == Timestamp.class) {
-            return TimestampConversionUtil.toSqlTimestamp(arg);
-        } else if (propertyType == java.sql.Date.class) {
-            return DateConversionUtil.toSqlDate(arg);
-        } else if (propertyType == Time.class) {
-            return TimeConversionUtil.toSqlTime(arg);
-        }
-        return arg;
-    }
-
-    private Object convertWithString(final Object arg) {
-        if (stringConstructor != null) {
-            return ConstructorUtil.newInstance(stringConstructor, arg);
-        }
-        if (valueOfMethod != null) {
-            return MethodUtil.invoke(valueOfMethod, null, arg);
-        }
-        return arg;
+        return (T) converter.convert(arg);
     }
 
     @Override
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.beans.util;
+
+import static org.codelibs.core.collection.CollectionsUtil.newArrayList;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.codelibs.core.beans.BeanDesc;
+import org.codelibs.core.beans.Converter;
+import org.codelibs.core.beans.PropertyDesc;
+import org.codelibs.core.beans.factory.BeanDescFactory;
+import org.codelibs.core.collection.ConcurrentLruHashMap;
+import org.codelibs.core.exception.ConverterRuntimeException;
+import org.codelibs.core.misc.Disposable;
+import org.codelibs.core.misc.DisposableUtil;
+
+/**
+ * A precomputed plan for copying the properties of one Bean class to another.
+ * <p>
+ * The plan holds the pairs of readable source and writable destination properties that pass the
+ * include, exclude and prefix filters of the {@link CopyOptions}, together with the default
+ * {@link Converter} for each destination type. Plans are cached by the source class, the
+ * destination class and those filters, so repeated copies between the same types only loop over
+ * the resolved properties.
+ * </p>
+ * <p>
+ * The plans of a source class are held by the class itself through a {@link ClassValue}, so the
+ * cache does not keep the class or its class loader from being unloaded. They are discarded
+ * together with the {@link BeanDesc}s they were built from, when
+ * {@link BeanDescFactory#clear()} or {@link BeanDescFactory#setCacheMode} is called.
+ * </p>
+ *
+ * @author shinsuke
+ */
+final class BeanCopyPlan {
+
+    /** Upper limit on the number of cached plans per source class */
+    static final int CACHE_SIZE = 64;
+
+    private static volatile PlanCache planCache = new PlanCache(BeanDescFactory.getGeneration());
+
+    private static final Disposable DISPOSABLE = BeanCopyPlan::clear;
+
+    private static volatile boolean initialized;
+
+    private final PropertyDesc[] srcPropertyDescs;
+
+    private final PropertyDesc[] destPropertyDescs;
+
+    private final String[] destPropertyNames;
+
+    private final Converter[] defaultConverters;
+
+    private BeanCopyPlan(final BeanDesc srcBeanDesc, final BeanDesc destBeanDesc, final CopyOptions options) {
+        final List<PropertyDesc> srcList = newArrayList();
+        final List<PropertyDesc> destList = newArrayList();
+        for (final PropertyDesc srcPropertyDesc : srcBeanDesc.getPropertyDescs()) {
+            final String srcPropertyName = srcPropertyDesc.getPropertyName();
+            if (!srcPropertyDesc.isReadable() || !options.isTargetProperty(srcPropertyName)) {
+                continue;
+            }
+            final String destPropertyName = options.trimPrefix(srcPropertyName);
+            if (!destBeanDesc.hasPropertyDesc(destPropertyName)) {
+                continue;
+            }
+            final PropertyDesc destPropertyDesc = destBeanDesc.getPropertyDesc(destPropertyName);
+            if (!destPropertyDesc.isWritable()) {
+                continue;
+            }
+            srcList.add(srcPropertyDesc);
+            destList.add(destPropertyDesc);
+        }
+        final int size = srcList.size();
+        srcPropertyDescs = srcList.toArray(new PropertyDesc[size]);
+        destPropertyDescs = destList.toArray(new PropertyDesc[size]);
+        destPropertyNames = new String[size];
+        defaultConverters = new Converter[size];
+        for (int i = 0; i < size; i++) {
+            destPropertyNames[i] = destPropertyDescs[i].getPropertyName();
+            defaultConverters[i] = options.findDefaultConverter(destPropertyDescs[i].getPropertyType());
+        }
+    }
+
+    /**
+     * Returns the plan for copying between the classes with the options.
+     *
+     * @param srcClass the source class
+     * @param destClass the destination class
+     * @param options the copy options
+     * @return the plan
+     */
+    static BeanCopyPlan getPlan(final Class<?> srcClass, final Class<?> destClass, final CopyOptions options) {
+        if (!initialized) {
+            initialize();
+        }
+        PlanCache cache = planCache;
+        final int generation = BeanDescFactory.getGeneration();
+        if (cache.generation != generation) {
+            // the BeanDescs the plans were built from have been discarded
+            cache = new PlanCache(generation);
+            planCache = cache;
+        }
+        final ConcurrentLruHashMap<Key, BeanCopyPlan> plans = cache.get(srcClass);
+        final Key key = new Key(destClass, options);
+        BeanCopyPlan plan = plans.get(key);
+        if (plan == null) {
+            plan = new BeanCopyPlan(BeanDescFactory.getBeanDesc(srcClass), BeanDescFactory.getBeanDesc(destClass), options);
+            final BeanCopyPlan existing = plans.putIfAbsent(key, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Copies the properties.
+     *
+     * @param src the source Bean
+     * @param dest the destination Bean
+     * @param options the copy options the plan was created for
+     */
+    void copy(final Object src, final Object dest, final CopyOptions options) {
+        final boolean defaultConversion = options.converterMap.isEmpty() && options.converters.isEmpty();
+        for (int i = 0; i < srcPropertyDescs.length; i++) {
+            final Object value = srcPropertyDescs[i].getValue(src);
+            if (!options.isTargetValue(value)) {
+                continue;
+            }
+            final PropertyDesc destPropertyDesc = destPropertyDescs[i];
+            final Object convertedValue;
+            if (defaultConversion && value != null && value.getClass() == String.class) {
+                convertedValue = convertString((String) value, i);
+            } else {
+                convertedValue = options.convertValue(value, destPropertyNames[i], destPropertyDesc.getPropertyType());
+            }
+            destPropertyDesc.setValue(dest, convertedValue);
+        }
+    }
+
+    private Object convertString(final String value, final int index) {
+        final Converter converter = defaultConverters[index];
+        if (converter == null) {
+            return value;
+        }
+        try {
+            return converter.getAsObject(value);
+        } catch (final Throwable cause) {
+            throw new ConverterRuntimeException(destPropertyNames[index], value, cause);
+        }
+    }
+
+    /**
+     * Initializes the cache.
+     */
+    static void initialize() {
+        synchronized (BeanCopyPlan.class) {
+            if (!initialized) {
+                DisposableUtil.add(DISPOSABLE);
+                initialized = true;
+            }
+        }
+    }
+
+    /**
+     * Clears the cache.
+     */
+    static void clear() {
+        planCache = new PlanCache(BeanDescFactory.getGeneration());
+        DisposableUtil.remove(DISPOSABLE);
+        initialized = false;
+    }
+
+    /**
+     * Returns the number of cached plans of the source class.
+     *
+     * @param srcClass the source class
+     * @return the number of cached plans
+     */
+    static int getCacheSize(final Class<?> srcClass) {
+        return planCache.get(srcClass).size();
+    }
+
+    /**
+     * The plans of each source class, built from a generation of {@link BeanDesc}s.
+     */
+    private static final class PlanCache extends ClassValue<ConcurrentLruHashMap<Key, BeanCopyPlan>> {
+
+        final int generation;
+
+        PlanCache(final int generation) {
+            this.generation = generation;
+        }
+
+        @Override
+        protected ConcurrentLruHashMap<Key, BeanCopyPlan> computeValue(final Class<?> type) {
+            return new ConcurrentLruHashMap<>(CACHE_SIZE);
+        }
+    }
+
+    /**
+     * Cache key made of the destination class and the property filters of the {@link CopyOptions}.
+     */
+    private static final class Key {
+
+        private final Class<?> destClass;
+
+        private final String prefix;
+
+        private final String[] includePropertyNames;
+
+        private final String[] excludePropertyNames;
+
+        private final int hashCode;
+
+        Key(final Class<?> destClass, final CopyOptions options) {
+            this.destClass = destClass;
+            prefix = options.prefix;
+            includePropertyNames = options.includePropertyNames.toArray(new String[options.includePropertyNames.size()]);
+            excludePropertyNames = options.excludePropertyNames.toArray(new String[options.excludePropertyNames.size()]);
+            int h = destClass.hashCode();
+            h = 31 * h + Objects.hashCode(prefix);
+            h = 31 * h + Arrays.hashCode(includePropertyNames);
+            h = 31 * h + Arrays.hashCode(excludePropertyNames);
+            hashCode = h;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return destClass == other.destClass && Objects.equals(prefix, other.prefix)
+                    && Arrays.equals(includePropertyNames, other.includePropertyNames)
+                    && Arrays.equals(excludePropertyNames, other.excludePropertyNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
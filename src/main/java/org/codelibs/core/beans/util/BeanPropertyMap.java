@@ -0,0 +1,248 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.beans.util;
+
+import static org.codelibs.core.collection.CollectionsUtil.newArrayList;
+import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.codelibs.core.beans.BeanDesc;
+import org.codelibs.core.beans.PropertyDesc;
+import org.codelibs.core.beans.factory.BeanDescFactory;
+import org.codelibs.core.exception.ClUnsupportedOperationException;
+import org.codelibs.core.exception.IllegalKeyOfBeanMapException;
+
+/**
+ * A live {@link Map} view of the readable properties of a Bean.
+ * <p>
+ * Nothing is copied: {@link #get(Object)} reads the property from the Bean and {@link #put(String, Object)}
+ * writes it through {@link PropertyDesc}, so the view always reflects the current state of the Bean.
+ * The keys are the property names in the order of {@link BeanDesc#getPropertyDescs()} and are
+ * case-sensitive. Properties cannot be removed.
+ * </p>
+ * <p>
+ * <strong>Thread-Safety:</strong> The view is as thread-safe as the underlying Bean.
+ * </p>
+ *
+ * @author shinsuke
+ * @see BeanUtil#asMap(Object)
+ */
+public class BeanPropertyMap extends AbstractMap<String, Object> {
+
+    /** The Bean */
+    protected final Object bean;
+
+    /** The {@link BeanDesc} of the Bean */
+    protected final BeanDesc beanDesc;
+
+    private PropertyDesc[] readablePropertyDescs;
+
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    /**
+     * Creates a {@link BeanPropertyMap}.
+     *
+     * @param bean
+     *            the Bean. Must not be {@literal null}
+     */
+    public BeanPropertyMap(final Object bean) {
+        assertArgumentNotNull("bean", bean);
+
+        this.bean = bean;
+        beanDesc = BeanDescFactory.getBeanDesc(bean.getClass());
+    }
+
+    /**
+     * Returns the Bean.
+     *
+     * @return the Bean
+     */
+    public Object getBean() {
+        return bean;
+    }
+
+    @Override
+    public int size() {
+        return getReadablePropertyDescs().length;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return getReadablePropertyDesc(key) != null;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final PropertyDesc propertyDesc = getReadablePropertyDesc(key);
+        if (propertyDesc == null) {
+            return null;
+        }
+        return propertyDesc.getValue(bean);
+    }
+
+    /**
+     * Sets the value to the property of the Bean.
+     *
+     * @param key
+     *            the property name
+     * @param value
+     *            the value, converted to the property type if needed
+     * @return the previous value
+     * @throws IllegalKeyOfBeanMapException
+     *             if the Bean has no readable property of the name
+     * @throws ClUnsupportedOperationException
+     *             if the property is not writable
+     */
+    @Override
+    public Object put(final String key, final Object value) {
+        final PropertyDesc propertyDesc = getReadablePropertyDesc(key);
+        if (propertyDesc == null) {
+            throw new IllegalKeyOfBeanMapException(key, this);
+        }
+        if (!propertyDesc.isWritable()) {
+            throw new ClUnsupportedOperationException(key);
+        }
+        final Object old = propertyDesc.getValue(bean);
+        propertyDesc.setValue(bean, value);
+        return old;
+    }
+
+    @Override
+    public Object remove(final Object key) {
+        throw new ClUnsupportedOperationException("remove");
+    }
+
+    @Override
+    public void clear() {
+        throw new ClUnsupportedOperationException("clear");
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    final PropertyDesc[] propertyDescs = getReadablePropertyDescs();
+                    return new Iterator<>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < propertyDescs.length;
+                        }
+
+                        @Override
+                        public Map.Entry<String, Object> next() {
+                            if (index >= propertyDescs.length) {
+                                throw new NoSuchElementException("index=" + index);
+                            }
+                            return new PropertyEntry(propertyDescs[index++]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return BeanPropertyMap.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private PropertyDesc getReadablePropertyDesc(final Object key) {
+        if (!(key instanceof String) || ((String) key).isEmpty()) {
+            return null;
+        }
+        final String propertyName = (String) key;
+        if (!beanDesc.hasPropertyDesc(propertyName)) {
+            return null;
+        }
+        final PropertyDesc propertyDesc = beanDesc.getPropertyDesc(propertyName);
+        if (!propertyDesc.isReadable() || !propertyDesc.getPropertyName().equals(propertyName)) {
+            return null;
+        }
+        return propertyDesc;
+    }
+
+    private PropertyDesc[] getReadablePropertyDescs() {
+        if (readablePropertyDescs == null) {
+            final List<PropertyDesc> list = newArrayList();
+            for (final PropertyDesc propertyDesc : beanDesc.getPropertyDescs()) {
+                if (propertyDesc.isReadable()) {
+                    list.add(propertyDesc);
+                }
+            }
+            readablePropertyDescs = list.toArray(new PropertyDesc[list.size()]);
+        }
+        return readablePropertyDescs;
+    }
+
+    /**
+     * An entry reading and writing a property of the Bean.
+     */
+    private class PropertyEntry implements Map.Entry<String, Object> {
+
+        private final PropertyDesc propertyDesc;
+
+        PropertyEntry(final PropertyDesc propertyDesc) {
+            this.propertyDesc = propertyDesc;
+        }
+
+        @Override
+        public String getKey() {
+            return propertyDesc.getPropertyName();
+        }
+
+        @Override
+        public Object getValue() {
+            return propertyDesc.getValue(bean);
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            return put(getKey(), value);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
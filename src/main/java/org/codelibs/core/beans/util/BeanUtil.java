@@ -15,17 +15,27 @@
  */
 package org.codelibs.core.beans.util;
 
+import static org.codelibs.core.collection.CollectionsUtil.newArrayList;
 import static org.codelibs.core.collection.CollectionsUtil.newLinkedHashMap;
 import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
 
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.codelibs.core.beans.BeanDesc;
 import org.codelibs.core.beans.PropertyDesc;
 import org.codelibs.core.beans.factory.BeanDescFactory;
 import org.codelibs.core.lang.ClassUtil;
+import org.codelibs.core.lang.ConstructorUtil;
 
 /**
  * Utility for copying properties between JavaBeans or between JavaBeans and {@link Map}.
@@ -56,6 +66,13 @@ import org.codelibs.core.lang.ClassUtil;
  * Map&lt;String, Object&gt; destMap = copyBeanToNewMap(srcBean);
  * </pre>
  * <p>
+ * To read or write a few properties through the {@link Map} interface without copying, use a live view.
+ * </p>
+ *
+ * <pre>
+ * Map&lt;String, Object&gt; view = asMap(srcBean);
+ * </pre>
+ * <p>
  * It is also possible to specify options when copying.
  * </p>
  *
@@ -86,8 +103,11 @@ public abstract class BeanUtil {
     protected BeanUtil() {
     }
 
+    /** Number of sources from which the parallel bulk copies split the work */
+    protected static final int PARALLEL_THRESHOLD = 1000;
+
     /** Default options */
-    protected static final CopyOptions DEFAULT_OPTIONS = new CopyOptions();
+    protected static final CopyOptions DEFAULT_OPTIONS = new CopyOptions().freeze();
 
     /**
      * Copies properties from one Bean to another Bean.
@@ -110,6 +130,18 @@ public abstract class BeanUtil {
         copyBeanToBean(src, dest, buildCopyOptions(option));
     }
 
+    /**
+     * Copies properties from one Bean to another Bean.
+     *
+     * @param src The source Bean. Must not be {@literal null}.
+     * @param dest The destination Bean. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @see CopyOptions#freeze()
+     */
+    public static void copyBeanToBean(final Object src, final Object dest, final FrozenCopyOptions options) {
+        copyBeanToBean(src, dest, (CopyOptions) options);
+    }
+
     /**
      * Copies properties from one Bean to another Bean.
      *
@@ -123,6 +155,11 @@ public abstract class BeanUtil {
         assertArgumentNotNull("dest", dest);
         assertArgumentNotNull("option", options);
 
+        if (options.getClass() == CopyOptions.class || options.getClass() == FrozenCopyOptions.class) {
+            // subclasses may override the filters, so only plain options use the cached plan
+            BeanCopyPlan.getPlan(src.getClass(), dest.getClass(), options).copy(src, dest, options);
+            return;
+        }
         final BeanDesc srcBeanDesc = BeanDescFactory.getBeanDesc(src.getClass());
         final BeanDesc destBeanDesc = BeanDescFactory.getBeanDesc(dest.getClass());
         for (final PropertyDesc srcPropertyDesc : srcBeanDesc.getPropertyDescs()) {
@@ -168,6 +205,18 @@ public abstract class BeanUtil {
         copyBeanToMap(src, dest, buildCopyOptions(option));
     }
 
+    /**
+     * Copies from a Bean to a {@literal Map}.
+     *
+     * @param src The source Bean. Must not be {@literal null}.
+     * @param dest The destination {@literal Map}. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @see CopyOptions#freeze()
+     */
+    public static void copyBeanToMap(final Object src, final Map<String, Object> dest, final FrozenCopyOptions options) {
+        copyBeanToMap(src, dest, (CopyOptions) options);
+    }
+
     /**
      * Copies from a Bean to a {@literal Map}.
      *
@@ -218,6 +267,18 @@ public abstract class BeanUtil {
         copyMapToBean(src, dest, buildCopyOptions(option));
     }
 
+    /**
+     * Copies from a {@literal Map} to a Bean.
+     *
+     * @param src The source {@literal Map}. Must not be {@literal null}.
+     * @param dest The destination Bean. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @see CopyOptions#freeze()
+     */
+    public static void copyMapToBean(final Map<String, ? extends Object> src, final Object dest, final FrozenCopyOptions options) {
+        copyMapToBean(src, dest, (CopyOptions) options);
+    }
+
     /**
      * Copies from a {@literal Map} to a Bean.
      *
@@ -231,7 +292,11 @@ public abstract class BeanUtil {
         assertArgumentNotNull("dest", dest);
         assertArgumentNotNull("options", options);
 
-        final BeanDesc destBeanDesc = BeanDescFactory.getBeanDesc(dest.getClass());
+        copyMapToBean(src, dest, BeanDescFactory.getBeanDesc(dest.getClass()), options);
+    }
+
+    private static void copyMapToBean(final Map<String, ? extends Object> src, final Object dest, final BeanDesc destBeanDesc,
+            final CopyOptions options) {
         for (final Entry<String, ? extends Object> entry : src.entrySet()) {
             final String srcPropertyName = entry.getKey();
             if (!options.isTargetProperty(srcPropertyName)) {
@@ -276,6 +341,19 @@ public abstract class BeanUtil {
         copyMapToMap(src, dest, buildCopyOptions(option));
     }
 
+    /**
+     * Copies from a {@literal Map} to another {@literal Map}.
+     *
+     * @param src The source {@literal Map}. Must not be {@literal null}.
+     * @param dest The destination {@literal Map}. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @see CopyOptions#freeze()
+     */
+    public static void copyMapToMap(final Map<String, ? extends Object> src, final Map<String, Object> dest,
+            final FrozenCopyOptions options) {
+        copyMapToMap(src, dest, (CopyOptions) options);
+    }
+
     /**
      * Copies from a {@literal Map} to another {@literal Map}.
      *
@@ -329,6 +407,20 @@ public abstract class BeanUtil {
         return copyBeanToNewBean(src, destClass, buildCopyOptions(option));
     }
 
+    /**
+     * Copies the source Bean to a new instance of the destination Bean and returns it.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Bean. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The newly copied Bean.
+     * @see CopyOptions#freeze()
+     */
+    public static <T> T copyBeanToNewBean(final Object src, final Class<T> destClass, final FrozenCopyOptions options) {
+        return copyBeanToNewBean(src, destClass, (CopyOptions) options);
+    }
+
     /**
      * Copies the source Bean to a new instance of the destination Bean and returns it.
      *
@@ -375,6 +467,21 @@ public abstract class BeanUtil {
         return copyMapToNewBean(src, destClass, buildCopyOptions(option));
     }
 
+    /**
+     * Copies the source {@literal Map} to a new instance of the destination Bean and returns it.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source {@literal Map}. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The newly copied {@literal Map}.
+     * @see CopyOptions#freeze()
+     */
+    public static <T> T copyMapToNewBean(final Map<String, ? extends Object> src, final Class<T> destClass,
+            final FrozenCopyOptions options) {
+        return copyMapToNewBean(src, destClass, (CopyOptions) options);
+    }
+
     /**
      * Copies the source {@literal Map} to a new instance of the destination Bean and returns it.
      *
@@ -395,6 +502,20 @@ public abstract class BeanUtil {
         return dest;
     }
 
+    /**
+     * Returns a live {@link Map} view of the readable properties of the Bean.
+     * <p>
+     * Unlike {@link #copyBeanToNewMap(Object)}, no value is copied: reads and writes on the view go to the Bean.
+     * </p>
+     *
+     * @param src The source Bean. Must not be {@literal null}.
+     * @return The view of the Bean.
+     * @see BeanPropertyMap
+     */
+    public static Map<String, Object> asMap(final Object src) {
+        return new BeanPropertyMap(src);
+    }
+
     /**
      * Copies the source Bean to a new instance of {@literal LinkedHashMap} and returns it.
      *
@@ -416,6 +537,18 @@ public abstract class BeanUtil {
         return copyBeanToNewMap(src, buildCopyOptions(option));
     }
 
+    /**
+     * Copies the source Bean to a new instance of {@literal LinkedHashMap} and returns it.
+     *
+     * @param src The source Bean. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The newly copied Bean.
+     * @see CopyOptions#freeze()
+     */
+    public static Map<String, Object> copyBeanToNewMap(final Object src, final FrozenCopyOptions options) {
+        return copyBeanToNewMap(src, (CopyOptions) options);
+    }
+
     /**
      * Copies the source Bean to a new instance of {@literal LinkedHashMap} and returns it.
      *
@@ -459,6 +592,21 @@ public abstract class BeanUtil {
         return copyBeanToNewMap(src, destClass, buildCopyOptions(option));
     }
 
+    /**
+     * Copies the source Bean to a new instance of a {@literal Map} and returns it.
+     *
+     * @param <T> The type of the destination {@literal Map}.
+     * @param src The source Bean. Must not be {@literal null}.
+     * @param destClass The type of the destination {@literal Map}. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The newly copied {@literal Map}.
+     * @see CopyOptions#freeze()
+     */
+    public static <T extends Map<String, Object>> T copyBeanToNewMap(final Object src, final Class<? extends T> destClass,
+            final FrozenCopyOptions options) {
+        return copyBeanToNewMap(src, destClass, (CopyOptions) options);
+    }
+
     /**
      * Copies the source Bean to a new instance of a {@literal Map} and returns it.
      *
@@ -501,6 +649,18 @@ public abstract class BeanUtil {
         return copyMapToNewMap(src, buildCopyOptions(option));
     }
 
+    /**
+     * Copies the source {@literal Map} to a new instance of {@literal LinkedHashMap} and returns it.
+     *
+     * @param src The source {@literal Map}. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The newly copied {@literal Map}.
+     * @see CopyOptions#freeze()
+     */
+    public static Map<String, Object> copyMapToNewMap(final Map<String, ? extends Object> src, final FrozenCopyOptions options) {
+        return copyMapToNewMap(src, (CopyOptions) options);
+    }
+
     /**
      * Copies the source {@literal Map} to a new instance of {@literal LinkedHashMap} and returns it.
      *
@@ -545,6 +705,21 @@ public abstract class BeanUtil {
         return copyMapToNewMap(src, destClass, buildCopyOptions(option));
     }
 
+    /**
+     * Copies the source {@literal Map} to a new instance of a {@literal Map} and returns it.
+     *
+     * @param <T> The type of the destination {@literal Map}.
+     * @param src The source {@literal Map}. Must not be {@literal null}.
+     * @param destClass The type of the destination {@literal Map}. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The newly copied {@literal Map}.
+     * @see CopyOptions#freeze()
+     */
+    public static <T extends Map<String, Object>> T copyMapToNewMap(final Map<String, ? extends Object> src,
+            final Class<? extends T> destClass, final FrozenCopyOptions options) {
+        return copyMapToNewMap(src, destClass, (CopyOptions) options);
+    }
+
     /**
      * Copies the source {@literal Map} to a new instance of a {@literal Map} and returns it.
      *
@@ -566,6 +741,332 @@ public abstract class BeanUtil {
         return dest;
     }
 
+    /**
+     * Copies each source Bean to a new instance of the destination Bean and returns them in the same order.
+     * <p>
+     * The constructor and the properties to copy are resolved once for all the sources.
+     * </p>
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @return The newly copied Beans.
+     */
+    public static <T> List<T> copyBeansToNewBeans(final Collection<?> src, final Class<T> destClass) {
+        return copyBeansToNewBeans(src, destClass, DEFAULT_OPTIONS, false);
+    }
+
+    /**
+     * Copies each source Bean to a new instance of the destination Bean and returns them in the same order.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param option The consumer for copy options.
+     * @return The newly copied Beans.
+     */
+    public static <T> List<T> copyBeansToNewBeans(final Collection<?> src, final Class<T> destClass, final Consumer<CopyOptions> option) {
+        return copyBeansToNewBeans(src, destClass, buildCopyOptions(option), false);
+    }
+
+    /**
+     * Copies each source Bean to a new instance of the destination Bean and returns them in the same order.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The newly copied Beans.
+     * @see CopyOptions#freeze()
+     */
+    public static <T> List<T> copyBeansToNewBeans(final Collection<?> src, final Class<T> destClass, final FrozenCopyOptions options) {
+        return copyBeansToNewBeans(src, destClass, options, false);
+    }
+
+    /**
+     * Copies each source Bean to a new instance of the destination Bean and returns them in the same order.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @return The newly copied Beans.
+     */
+    public static <T> List<T> copyBeansToNewBeans(final Object[] src, final Class<T> destClass) {
+        return copyBeansToNewBeans(src, destClass, DEFAULT_OPTIONS);
+    }
+
+    /**
+     * Copies each source Bean to a new instance of the destination Bean and returns them in the same order.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param option The consumer for copy options.
+     * @return The newly copied Beans.
+     */
+    public static <T> List<T> copyBeansToNewBeans(final Object[] src, final Class<T> destClass, final Consumer<CopyOptions> option) {
+        return copyBeansToNewBeans(src, destClass, buildCopyOptions(option));
+    }
+
+    /**
+     * Copies each source Bean to a new instance of the destination Bean and returns them in the same order.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The newly copied Beans.
+     * @see CopyOptions#freeze()
+     */
+    public static <T> List<T> copyBeansToNewBeans(final Object[] src, final Class<T> destClass, final FrozenCopyOptions options) {
+        return copyBeansToNewBeans(src, destClass, (CopyOptions) options);
+    }
+
+    /**
+     * Copies each source Bean to a new instance of the destination Bean and returns them in the same order.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The copy options. Must not be {@literal null}.
+     * @return The newly copied Beans.
+     */
+    protected static <T> List<T> copyBeansToNewBeans(final Object[] src, final Class<T> destClass, final CopyOptions options) {
+        assertArgumentNotNull("src", src);
+
+        return copyBeansToNewBeans(Arrays.asList(src), destClass, options, false);
+    }
+
+    /**
+     * Returns a {@link Stream} that copies each source Bean to a new instance of the destination Bean.
+     * <p>
+     * The returned stream is parallel if the source stream is.
+     * </p>
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @return The stream of the newly copied Beans.
+     */
+    public static <T> Stream<T> copyBeansToNewBeans(final Stream<?> src, final Class<T> destClass) {
+        return copyBeansToNewBeans(src, destClass, DEFAULT_OPTIONS);
+    }
+
+    /**
+     * Returns a {@link Stream} that copies each source Bean to a new instance of the destination Bean.
+     * <p>
+     * The returned stream is parallel if the source stream is.
+     * </p>
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param option The consumer for copy options.
+     * @return The stream of the newly copied Beans.
+     */
+    public static <T> Stream<T> copyBeansToNewBeans(final Stream<?> src, final Class<T> destClass, final Consumer<CopyOptions> option) {
+        return copyBeansToNewBeans(src, destClass, buildCopyOptions(option));
+    }
+
+    /**
+     * Returns a {@link Stream} that copies each source Bean to a new instance of the destination Bean.
+     * <p>
+     * The returned stream is parallel if the source stream is.
+     * </p>
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The stream of the newly copied Beans.
+     * @see CopyOptions#freeze()
+     */
+    public static <T> Stream<T> copyBeansToNewBeans(final Stream<?> src, final Class<T> destClass, final FrozenCopyOptions options) {
+        return copyBeansToNewBeans(src, destClass, (CopyOptions) options);
+    }
+
+    /**
+     * Returns a {@link Stream} that copies each source Bean to a new instance of the destination Bean.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The copy options. Must not be {@literal null}.
+     * @return The stream of the newly copied Beans.
+     */
+    protected static <T> Stream<T> copyBeansToNewBeans(final Stream<?> src, final Class<T> destClass, final CopyOptions options) {
+        assertArgumentNotNull("src", src);
+        assertArgumentNotNull("destClass", destClass);
+        assertArgumentNotNull("options", options);
+
+        return src.map(newBeanCopier(destClass, options));
+    }
+
+    /**
+     * Copies each source Bean to a new instance of the destination Bean and returns them in the same order.
+     * <p>
+     * When there are at least {@link #PARALLEL_THRESHOLD} sources, the copies run in parallel on the common
+     * {@link java.util.concurrent.ForkJoinPool}. The converters of the options must be thread-safe.
+     * </p>
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The newly copied Beans.
+     * @see CopyOptions#freeze()
+     */
+    public static <T> List<T> parallelCopyBeansToNewBeans(final Collection<?> src, final Class<T> destClass,
+            final FrozenCopyOptions options) {
+        return copyBeansToNewBeans(src, destClass, options, true);
+    }
+
+    /**
+     * Copies each source Bean to a new instance of the destination Bean and returns them in the same order.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source Beans. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The copy options. Must not be {@literal null}.
+     * @param parallel Whether to copy in parallel when there are at least {@link #PARALLEL_THRESHOLD} sources.
+     * @return The newly copied Beans.
+     */
+    protected static <T> List<T> copyBeansToNewBeans(final Collection<?> src, final Class<T> destClass, final CopyOptions options,
+            final boolean parallel) {
+        assertArgumentNotNull("src", src);
+        assertArgumentNotNull("destClass", destClass);
+        assertArgumentNotNull("options", options);
+
+        return copyAll(src, newBeanCopier(destClass, options), parallel);
+    }
+
+    /**
+     * Copies each source {@literal Map} to a new instance of the destination Bean and returns them in the same order.
+     * <p>
+     * The constructor and the {@link BeanDesc} of the destination Bean are resolved once for all the sources.
+     * </p>
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source {@literal Map}s. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @return The newly copied Beans.
+     */
+    public static <T> List<T> copyMapsToNewBeans(final Collection<? extends Map<String, ? extends Object>> src, final Class<T> destClass) {
+        return copyMapsToNewBeans(src, destClass, DEFAULT_OPTIONS, false);
+    }
+
+    /**
+     * Copies each source {@literal Map} to a new instance of the destination Bean and returns them in the same order.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source {@literal Map}s. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param option The consumer for copy options.
+     * @return The newly copied Beans.
+     */
+    public static <T> List<T> copyMapsToNewBeans(final Collection<? extends Map<String, ? extends Object>> src, final Class<T> destClass,
+            final Consumer<CopyOptions> option) {
+        return copyMapsToNewBeans(src, destClass, buildCopyOptions(option), false);
+    }
+
+    /**
+     * Copies each source {@literal Map} to a new instance of the destination Bean and returns them in the same order.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source {@literal Map}s. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The newly copied Beans.
+     * @see CopyOptions#freeze()
+     */
+    public static <T> List<T> copyMapsToNewBeans(final Collection<? extends Map<String, ? extends Object>> src, final Class<T> destClass,
+            final FrozenCopyOptions options) {
+        return copyMapsToNewBeans(src, destClass, options, false);
+    }
+
+    /**
+     * Copies each source {@literal Map} to a new instance of the destination Bean and returns them in the same order.
+     * <p>
+     * When there are at least {@link #PARALLEL_THRESHOLD} sources, the copies run in parallel on the common
+     * {@link java.util.concurrent.ForkJoinPool}. The converters of the options must be thread-safe.
+     * </p>
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source {@literal Map}s. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The frozen copy options. Must not be {@literal null}.
+     * @return The newly copied Beans.
+     * @see CopyOptions#freeze()
+     */
+    public static <T> List<T> parallelCopyMapsToNewBeans(final Collection<? extends Map<String, ? extends Object>> src,
+            final Class<T> destClass, final FrozenCopyOptions options) {
+        return copyMapsToNewBeans(src, destClass, options, true);
+    }
+
+    /**
+     * Copies each source {@literal Map} to a new instance of the destination Bean and returns them in the same order.
+     *
+     * @param <T> The type of the destination Bean.
+     * @param src The source {@literal Map}s. Must not be {@literal null}.
+     * @param destClass The type of the destination Bean. Must not be {@literal null}.
+     * @param options The copy options. Must not be {@literal null}.
+     * @param parallel Whether to copy in parallel when there are at least {@link #PARALLEL_THRESHOLD} sources.
+     * @return The newly copied Beans.
+     */
+    protected static <T> List<T> copyMapsToNewBeans(final Collection<? extends Map<String, ? extends Object>> src, final Class<T> destClass,
+            final CopyOptions options, final boolean parallel) {
+        assertArgumentNotNull("src", src);
+        assertArgumentNotNull("destClass", destClass);
+        assertArgumentNotNull("options", options);
+
+        final Constructor<T> constructor = ClassUtil.getDeclaredConstructor(destClass);
+        final BeanDesc destBeanDesc = BeanDescFactory.getBeanDesc(destClass);
+        return copyAll(src, map -> {
+            final T dest = ConstructorUtil.newInstance(constructor);
+            copyMapToBean(map, dest, destBeanDesc, options);
+            return dest;
+        }, parallel);
+    }
+
+    private static <T> Function<Object, T> newBeanCopier(final Class<T> destClass, final CopyOptions options) {
+        final Constructor<T> constructor = ClassUtil.getDeclaredConstructor(destClass);
+        if (options.getClass() != CopyOptions.class && options.getClass() != FrozenCopyOptions.class) {
+            return src -> {
+                final T dest = ConstructorUtil.newInstance(constructor);
+                copyBeanToBean(src, dest, options);
+                return dest;
+            };
+        }
+        // the plan of the last source class is kept, as the sources are usually of one class
+        final AtomicReference<Entry<Class<?>, BeanCopyPlan>> last = new AtomicReference<>();
+        return src -> {
+            assertArgumentNotNull("element of src", src);
+            final Class<?> srcClass = src.getClass();
+            final Entry<Class<?>, BeanCopyPlan> cached = last.get();
+            final BeanCopyPlan plan;
+            if (cached != null && cached.getKey() == srcClass) {
+                plan = cached.getValue();
+            } else {
+                plan = BeanCopyPlan.getPlan(srcClass, destClass, options);
+                last.set(Map.entry(srcClass, plan));
+            }
+            final T dest = ConstructorUtil.newInstance(constructor);
+            plan.copy(src, dest, options);
+            return dest;
+        };
+    }
+
+    private static <S, T> List<T> copyAll(final Collection<? extends S> src, final Function<? super S, T> copier, final boolean parallel) {
+        if (parallel && src.size() >= PARALLEL_THRESHOLD) {
+            return src.parallelStream().map(copier).collect(Collectors.toList());
+        }
+        final List<T> list = newArrayList(src.size());
+        for (final S element : src) {
+            list.add(copier.apply(element));
+        }
+        return list;
+    }
+
     /**
      * Builds {@link CopyOptions} from a {@link Consumer}.
      *
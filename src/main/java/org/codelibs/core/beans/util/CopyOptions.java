@@ -351,6 +351,19 @@ public class CopyOptions {
         return converter(new NumberConverter(pattern), propertyNames);
     }
 
+    /**
+     * Returns an immutable copy of these options that can be shared between threads and reused.
+     * <p>
+     * Changes made to this instance afterwards are not reflected in the returned copy.
+     * </p>
+     *
+     * @return The frozen options
+     * @see FrozenCopyOptions
+     */
+    public FrozenCopyOptions freeze() {
+        return new FrozenCopyOptions(this);
+    }
+
     /**
      * Converts an array of {@literal CharSequence} to a {@literal List} of {@literal String}.
      *
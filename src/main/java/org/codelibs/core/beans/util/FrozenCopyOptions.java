@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.beans.util;
+
+import static org.codelibs.core.collection.CollectionsUtil.newConcurrentHashMap;
+import static org.codelibs.core.collection.CollectionsUtil.newHashSet;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import org.codelibs.core.beans.Converter;
+import org.codelibs.core.exception.ClUnsupportedOperationException;
+
+/**
+ * An immutable copy of {@link CopyOptions} created by {@link CopyOptions#freeze()}.
+ * <p>
+ * The property names to include and exclude are held in hash sets, and the converter found for
+ * each class is cached, so that a single instance can be kept in a {@literal static final} field
+ * and shared by any number of threads.
+ * </p>
+ *
+ * <pre>
+ * private static final FrozenCopyOptions OPTIONS = CopyOptionsUtil.excludeNull().exclude("id").freeze();
+ *
+ * BeanUtil.copyBeanToBean(srcBean, destBean, OPTIONS);
+ * </pre>
+ * <p>
+ * Every method that would change the options throws {@link ClUnsupportedOperationException}.
+ * </p>
+ *
+ * @author shinsuke
+ */
+public final class FrozenCopyOptions extends CopyOptions {
+
+    /** Marks a class without a converter in {@link #converterCache}. */
+    private static final Object NO_CONVERTER = new Object();
+
+    private final Set<String> includePropertyNameSet;
+
+    private final Set<String> excludePropertyNameSet;
+
+    private final ConcurrentMap<Class<?>, Object> converterCache = newConcurrentHashMap();
+
+    /**
+     * Creates a {@link FrozenCopyOptions}.
+     *
+     * @param options
+     *            The options to copy
+     */
+    FrozenCopyOptions(final CopyOptions options) {
+        includePropertyNames.addAll(options.includePropertyNames);
+        excludePropertyNames.addAll(options.excludePropertyNames);
+        excludesNull = options.excludesNull;
+        excludesWhitespace = options.excludesWhitespace;
+        prefix = options.prefix;
+        beanDelimiter = options.beanDelimiter;
+        mapDelimiter = options.mapDelimiter;
+        converterMap.putAll(options.converterMap);
+        converters.addAll(options.converters);
+        includePropertyNameSet = newHashSet(includePropertyNames);
+        excludePropertyNameSet = newHashSet(excludePropertyNames);
+    }
+
+    @Override
+    public FrozenCopyOptions freeze() {
+        return this;
+    }
+
+    @Override
+    public CopyOptions include(final CharSequence... propertyNames) {
+        throw new ClUnsupportedOperationException("include");
+    }
+
+    @Override
+    public CopyOptions exclude(final CharSequence... propertyNames) {
+        throw new ClUnsupportedOperationException("exclude");
+    }
+
+    @Override
+    public CopyOptions excludeNull() {
+        throw new ClUnsupportedOperationException("excludeNull");
+    }
+
+    @Override
+    public CopyOptions excludeWhitespace() {
+        throw new ClUnsupportedOperationException("excludeWhitespace");
+    }
+
+    @Override
+    public CopyOptions prefix(final CharSequence prefix) {
+        throw new ClUnsupportedOperationException("prefix");
+    }
+
+    @Override
+    public CopyOptions beanDelimiter(final char beanDelimiter) {
+        throw new ClUnsupportedOperationException("beanDelimiter");
+    }
+
+    @Override
+    public CopyOptions mapDelimiter(final char mapDelimiter) {
+        throw new ClUnsupportedOperationException("mapDelimiter");
+    }
+
+    @Override
+    public CopyOptions converter(final Converter converter, final CharSequence... propertyNames) {
+        throw new ClUnsupportedOperationException("converter");
+    }
+
+    @Override
+    protected boolean isTargetProperty(final String name) {
+        if (prefix != null && !name.startsWith(prefix)) {
+            return false;
+        }
+        if (!includePropertyNameSet.isEmpty() && !includePropertyNameSet.contains(name)) {
+            return false;
+        }
+        return !excludePropertyNameSet.contains(name);
+    }
+
+    @Override
+    protected Converter findConverter(final Class<?> clazz) {
+        if (converters.isEmpty()) {
+            return null;
+        }
+        final Object cached = converterCache.get(clazz);
+        if (cached != null) {
+            return cached == NO_CONVERTER ? null : (Converter) cached;
+        }
+        final Converter converter = super.findConverter(clazz);
+        converterCache.putIfAbsent(clazz, converter != null ? converter : NO_CONVERTER);
+        return converter;
+    }
+
+}
@@ -25,13 +25,22 @@ import java.io.ObjectOutput;
 import java.lang.reflect.Array;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 
 /**
  * A {@link Map} that combines the characteristics of an array.
+ * <p>
+ * The keys and values are kept in insertion order in plain arrays, so that they can be accessed by
+ * index with {@link #getAt(int)} and {@link #getKeyAt(int)}. Lookups by key go through an
+ * open-addressing table of a power-of-two size that holds the positions in those arrays, so no
+ * object is allocated per entry. The entries returned by {@link #entrySet()} and
+ * {@link #getEntryAt(int)} are created on demand.
+ * </p>
  *
  * @author higa
  * @param <K> the type of keys
@@ -48,14 +57,22 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
     /** The default value of the load factor */
     public static final float LOAD_FACTOR = 0.75f;
 
-    /** Load factor */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /** Number of entries the arrays can hold before the table grows */
     protected transient int threshold;
 
-    /** Entry as a map */
-    protected transient Entry<K, V>[] mapTable;
+    /** Open-addressing table of (position + 1) in the arrays, or <code>0</code> if the slot is empty */
+    protected transient int[] indexTable;
+
+    /** Hash values in insertion order */
+    protected transient int[] hashes;
 
-    /** Entry as an array */
-    protected transient Entry<K, V>[] listTable;
+    /** Keys in insertion order */
+    protected transient Object[] keys;
+
+    /** Values in insertion order */
+    protected transient Object[] values;
 
     /** Number of elements */
     protected transient int size = 0;
@@ -75,14 +92,11 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
      *
      * @param initialCapacity the initial capacity
      */
-    @SuppressWarnings("unchecked")
     public ArrayMap(int initialCapacity) {
         if (initialCapacity <= 0) {
             initialCapacity = INITIAL_CAPACITY;
         }
-        mapTable = new Entry[initialCapacity];
-        listTable = new Entry[initialCapacity];
-        threshold = (int) (initialCapacity * LOAD_FACTOR);
+        init(initialCapacity);
     }
 
     /**
@@ -119,15 +133,16 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
      * @return the index for the value, or {@literal -1} if the value is not contained
      */
     public int indexOf(final Object value) {
+        final Object[] vals = values;
         if (value != null) {
             for (int i = 0; i < size; i++) {
-                if (value.equals(listTable[i].value)) {
+                if (value.equals(vals[i])) {
                     return i;
                 }
             }
         } else {
             for (int i = 0; i < size; i++) {
-                if (listTable[i].value == null) {
+                if (vals[i] == null) {
                     return i;
                 }
             }
@@ -137,44 +152,14 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
 
     @Override
     public boolean containsKey(final Object key) {
-        final Entry<K, V>[] tbl = mapTable;
-        if (key != null) {
-            final int hashCode = key.hashCode();
-            final int index = (hashCode & 0x7FFFFFFF) % tbl.length;
-            for (Entry<K, V> e = tbl[index]; e != null; e = e.next) {
-                if (e.hashCode == hashCode && key.equals(e.key)) {
-                    return true;
-                }
-            }
-        } else {
-            for (Entry<K, V> e = tbl[0]; e != null; e = e.next) {
-                if (e.key == null) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return findIndex(key) >= 0;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public V get(final Object key) {
-        final Entry<K, V>[] tbl = mapTable;
-        if (key != null) {
-            final int hashCode = key.hashCode();
-            final int index = (hashCode & 0x7FFFFFFF) % tbl.length;
-            for (Entry<K, V> e = tbl[index]; e != null; e = e.next) {
-                if (e.hashCode == hashCode && key.equals(e.key)) {
-                    return e.value;
-                }
-            }
-        } else {
-            for (Entry<K, V> e = tbl[0]; e != null; e = e.next) {
-                if (e.key == null) {
-                    return e.value;
-                }
-            }
-        }
-        return null;
+        final int index = findIndex(key);
+        return index >= 0 ? (V) values[index] : null;
     }
 
     /**
@@ -184,8 +169,10 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
      *            the index
      * @return the value at the specified index
      */
+    @SuppressWarnings("unchecked")
     public V getAt(final int index) {
-        return getEntryAt(index).getValue();
+        assertIndex(index < size, "Index:" + index + ", Size:" + size);
+        return (V) values[index];
     }
 
     /**
@@ -195,8 +182,10 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
      *            the index
      * @return the key at the specified index
      */
+    @SuppressWarnings("unchecked")
     public K getKeyAt(final int index) {
-        return getEntryAt(index).getKey();
+        assertIndex(index < size, "Index:" + index + ", Size:" + size);
+        return (K) keys[index];
     }
 
     /**
@@ -208,34 +197,25 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
      */
     public Map.Entry<K, V> getEntryAt(final int index) {
         assertIndex(index < size, "Index:" + index + ", Size:" + size);
-        return listTable[index];
+        return newEntry(index);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public V put(final K key, final V value) {
-        int hashCode = 0;
-        int index = 0;
-
-        if (key != null) {
-            hashCode = key.hashCode();
-            index = (hashCode & 0x7FFFFFFF) % mapTable.length;
-            for (Entry<K, V> e = mapTable[index]; e != null; e = e.next) {
-                if (e.hashCode == hashCode && key.equals(e.key)) {
-                    return swapValue(e, value);
-                }
-            }
-        } else {
-            for (Entry<K, V> e = mapTable[0]; e != null; e = e.next) {
-                if (e.key == null) {
-                    return swapValue(e, value);
-                }
-            }
+        final int hashCode = hash(key);
+        final int index = findIndex(key, hashCode);
+        if (index >= 0) {
+            final V old = (V) values[index];
+            values[index] = value;
+            return old;
         }
         ensureCapacity();
-        index = (hashCode & 0x7FFFFFFF) % mapTable.length;
-        final Entry<K, V> e = new Entry<>(hashCode, key, value, mapTable[index]);
-        mapTable[index] = e;
-        listTable[size++] = e;
+        final int position = size++;
+        hashes[position] = hashCode;
+        keys[position] = key;
+        values[position] = value;
+        insertSlot(hashCode, position);
         return null;
     }
 
@@ -248,17 +228,15 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
      *            the value
      */
     public void setAt(final int index, final V value) {
-        getEntryAt(index).setValue(value);
+        assertIndex(index < size, "Index:" + index + ", Size:" + size);
+        values[index] = value;
     }
 
     @Override
     public V remove(final Object key) {
-        final Entry<K, V> e = removeMap(key);
-        if (e != null) {
-            final V value = e.value;
-            removeList(entryIndexOf(e));
-            e.clear();
-            return value;
+        final int index = findIndex(key);
+        if (index >= 0) {
+            return removeAt(index);
         }
         return null;
     }
@@ -270,11 +248,24 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
      *            the index
      * @return the value of the entry at the specified index
      */
+    @SuppressWarnings("unchecked")
     public V removeAt(final int index) {
-        final Entry<K, V> e = removeList(index);
-        final V value = e.value;
-        removeMap(e.key);
-        e.clear();
+        assertIndex(index < size, "Index:" + index + ", Size:" + size);
+        final V value = (V) values[index];
+        removeSlot(index);
+        final int numMoved = size - index - 1;
+        if (numMoved > 0) {
+            System.arraycopy(hashes, index + 1, hashes, index, numMoved);
+            System.arraycopy(keys, index + 1, keys, index, numMoved);
+            System.arraycopy(values, index + 1, values, index, numMoved);
+            // the entries behind the removed one have moved forward by one
+            for (int i = index; i < size - 1; i++) {
+                moveSlot(hashes[i], i + 1, i);
+            }
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
         return value;
     }
 
@@ -287,12 +278,9 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
 
     @Override
     public void clear() {
-        for (int i = 0; i < mapTable.length; i++) {
-            mapTable[i] = null;
-        }
-        for (int i = 0; i < listTable.length; i++) {
-            listTable[i] = null;
-        }
+        Arrays.fill(indexTable, 0);
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
         size = 0;
     }
 
@@ -303,9 +291,7 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
      */
     public Object[] toArray() {
         final Object[] array = new Object[size];
-        for (int i = 0; i < array.length; i++) {
-            array[i] = getAt(i);
-        }
+        System.arraycopy(values, 0, array, 0, size);
         return array;
     }
 
@@ -319,9 +305,7 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
     public V[] toArray(final V[] proto) {
         @SuppressWarnings("unchecked")
         final V[] array = proto.length >= size ? proto : (V[]) Array.newInstance(proto.getClass().getComponentType(), size);
-        for (int i = 0; i < array.length; i++) {
-            array[i] = getAt(i);
-        }
+        System.arraycopy(values, 0, array, 0, size);
         if (array.length > size) {
             array[size] = null;
         }
@@ -336,13 +320,12 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
         if (!(o instanceof ArrayMap)) {
             return false;
         }
-        @SuppressWarnings("unchecked")
-        final ArrayMap<K, V> e = (ArrayMap<K, V>) o;
+        final ArrayMap<?, ?> e = (ArrayMap<?, ?>) o;
         if (size != e.size) {
             return false;
         }
         for (int i = 0; i < size; i++) {
-            if (!listTable[i].equals(e.listTable[i])) {
+            if (!Objects.equals(keys[i], e.keys[i]) || !Objects.equals(values[i], e.values[i])) {
                 return false;
             }
         }
@@ -353,7 +336,7 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
     public int hashCode() {
         int h = 0;
         for (int i = 0; i < size; i++) {
-            h += listTable[i].hashCode();
+            h += Objects.hashCode(keys[i]) ^ Objects.hashCode(values[i]);
         }
         return h;
     }
@@ -370,26 +353,21 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
 
                 @Override
                 public boolean contains(final Object o) {
-                    if (!(o instanceof Entry)) {
+                    if (!(o instanceof Map.Entry)) {
                         return false;
                     }
-                    final Entry<K, V> entry = (Entry<K, V>) o;
-                    final int index = (entry.hashCode & 0x7FFFFFFF) % mapTable.length;
-                    for (Entry<K, V> e = mapTable[index]; e != null; e = e.next) {
-                        if (e.equals(entry)) {
-                            return true;
-                        }
-                    }
-                    return false;
+                    final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+                    final int index = findIndex(entry.getKey());
+                    return index >= 0 && Objects.equals(values[index], entry.getValue());
                 }
 
                 @Override
                 public boolean remove(final Object o) {
-                    if (!(o instanceof Entry)) {
+                    if (!contains(o)) {
                         return false;
                     }
-                    final Entry<K, V> entry = (Entry<K, V>) o;
-                    return ArrayMap.this.remove(entry.key) != null;
+                    removeAt(findIndex(((Map.Entry<?, ?>) o).getKey()));
+                    return true;
                 }
 
                 @Override
@@ -408,11 +386,11 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
 
     @Override
     public void writeExternal(final ObjectOutput out) throws IOException {
-        out.writeInt(listTable.length);
+        out.writeInt(indexTable.length);
         out.writeInt(size);
         for (int i = 0; i < size; i++) {
-            out.writeObject(listTable[i].key);
-            out.writeObject(listTable[i].value);
+            out.writeObject(keys[i]);
+            out.writeObject(values[i]);
         }
     }
 
@@ -420,9 +398,7 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
     @Override
     public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
         final int num = in.readInt();
-        mapTable = new Entry[num];
-        listTable = new Entry[num];
-        threshold = (int) (num * LOAD_FACTOR);
+        init(num);
         final int size = in.readInt();
         for (int i = 0; i < size; i++) {
             final K key = (K) in.readObject();
@@ -433,84 +409,60 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
 
     @Override
     public Object clone() {
-        final ArrayMap<K, V> copy = new ArrayMap<>(mapTable.length);
-        for (int i = 0; i < size; i++) {
-            final Entry<K, V> entry = listTable[i];
-            copy.put(entry.key, entry.value);
-        }
+        final ArrayMap<K, V> copy;
+        try {
+            @SuppressWarnings("unchecked")
+            final ArrayMap<K, V> c = (ArrayMap<K, V>) super.clone();
+            copy = c;
+        } catch (final CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+        copy.entrySet = null;
+        copy.indexTable = indexTable.clone();
+        copy.hashes = hashes.clone();
+        copy.keys = keys.clone();
+        copy.values = values.clone();
         return copy;
     }
 
     /**
-     * Returns the index of the entry.
+     * Returns the index of the entry for the specified key.
      *
-     * @param entry
-     *            the entry
-     * @return the index of the entry
+     * @param key
+     *            the key
+     * @return the index of the entry, or {@literal -1} if there is no entry for the key
      */
-    protected int entryIndexOf(final Entry<K, V> entry) {
-        for (int i = 0; i < size; i++) {
-            if (listTable[i] == entry) {
-                return i;
-            }
-        }
-        return -1;
+    protected int findIndex(final Object key) {
+        return findIndex(key, hash(key));
     }
 
     /**
-     * Removes the entry corresponding to the specified key from the map entries.
+     * Returns the hash value of the key. Keys that are equal by {@link #isSameKey(Object, Object)}
+     * must have the same hash value.
      *
      * @param key
      *            the key
-     * @return the removed entry, or {@literal null} if there was no entry for the key
+     * @return the hash value
      */
-    protected Entry<K, V> removeMap(final Object key) {
-        int hashCode = 0;
-        int index = 0;
-
-        if (key != null) {
-            hashCode = key.hashCode();
-            index = (hashCode & 0x7FFFFFFF) % mapTable.length;
-            for (Entry<K, V> e = mapTable[index], prev = null; e != null; prev = e, e = e.next) {
-                if (e.hashCode == hashCode && key.equals(e.key)) {
-                    if (prev != null) {
-                        prev.next = e.next;
-                    } else {
-                        mapTable[index] = e.next;
-                    }
-                    return e;
-                }
-            }
-        } else {
-            for (Entry<K, V> e = mapTable[index], prev = null; e != null; prev = e, e = e.next) {
-                if (e.hashCode == hashCode && e.key == null) {
-                    if (prev != null) {
-                        prev.next = e.next;
-                    } else {
-                        mapTable[index] = e.next;
-                    }
-                    return e;
-                }
-            }
+    protected int hash(final Object key) {
+        if (key == null) {
+            return 0;
         }
-        return null;
+        final int h = key.hashCode();
+        return h ^ h >>> 16;
     }
 
     /**
-     * Removes the entry at the specified index from the list entries.
+     * Returns whether the key matches the key stored in this map.
      *
-     * @param index
-     *            the index of the entry to remove
-     * @return the removed entry
+     * @param key
+     *            the key to look up
+     * @param storedKey
+     *            the key stored in this map
+     * @return {@literal true} if the keys match
      */
-    protected Entry<K, V> removeList(final int index) {
-        final Entry<K, V> e = listTable[index];
-        final int numMoved = size - index - 1;
-        if (numMoved > 0) {
-            System.arraycopy(listTable, index + 1, listTable, index, numMoved);
-        }
-        listTable[--size] = null;
-        return e;
+    protected boolean isSameKey(final Object key, final Object storedKey) {
+        return key == storedKey || key != null && key.equals(storedKey);
     }
 
     /**
@@ -518,40 +470,95 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
      */
     protected void ensureCapacity() {
         if (size >= threshold) {
-            final Entry<K, V>[] oldTable = listTable;
-            final int newCapacity = oldTable.length * 2 + 1;
-            @SuppressWarnings("unchecked")
-            final Entry<K, V>[] newMapTable = new Entry[newCapacity];
-            @SuppressWarnings("unchecked")
-            final Entry<K, V>[] newListTable = new Entry[newCapacity];
-            threshold = (int) (newCapacity * LOAD_FACTOR);
-            System.arraycopy(oldTable, 0, newListTable, 0, size);
+            final int newLength = indexTable.length << 1;
+            threshold = thresholdOf(newLength);
+            hashes = Arrays.copyOf(hashes, threshold);
+            keys = Arrays.copyOf(keys, threshold);
+            values = Arrays.copyOf(values, threshold);
+            indexTable = new int[newLength];
             for (int i = 0; i < size; i++) {
-                Entry<K, V> old = oldTable[i];
-                final int index = (old.hashCode & 0x7FFFFFFF) % newCapacity;
-                final Entry<K, V> e = old;
-                old = old.next;
-                e.next = newMapTable[index];
-                newMapTable[index] = e;
+                insertSlot(hashes[i], i);
             }
-            mapTable = newMapTable;
-            listTable = newListTable;
         }
     }
 
     /**
-     * Replaces the value of the entry with a new value.
+     * Creates the {@link java.util.Map.Entry} for the specified index.
      *
-     * @param entry
-     *            the entry
-     * @param value
-     *            the new value for the entry
-     * @return the previous value of the entry
+     * @param index
+     *            the index
+     * @return the {@link java.util.Map.Entry}
      */
-    protected V swapValue(final Entry<K, V> entry, final V value) {
-        final V old = entry.value;
-        entry.value = value;
-        return old;
+    @SuppressWarnings("unchecked")
+    protected Entry<K, V> newEntry(final int index) {
+        return new Entry<>(this, (K) keys[index], (V) values[index]);
+    }
+
+    private void init(final int initialCapacity) {
+        final int length = initialCapacity >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Math.max(Integer.highestOneBit(initialCapacity - 1) << 1, 2);
+        threshold = thresholdOf(length);
+        indexTable = new int[length];
+        hashes = new int[threshold];
+        keys = new Object[threshold];
+        values = new Object[threshold];
+        size = 0;
+    }
+
+    private static int thresholdOf(final int length) {
+        return (int) (length * LOAD_FACTOR);
+    }
+
+    private int findIndex(final Object key, final int hashCode) {
+        final int[] tbl = indexTable;
+        final int mask = tbl.length - 1;
+        for (int i = hashCode & mask;; i = i + 1 & mask) {
+            final int slot = tbl[i];
+            if (slot == 0) {
+                return -1;
+            }
+            final int index = slot - 1;
+            if (hashes[index] == hashCode && isSameKey(key, keys[index])) {
+                return index;
+            }
+        }
+    }
+
+    private void insertSlot(final int hashCode, final int index) {
+        final int[] tbl = indexTable;
+        final int mask = tbl.length - 1;
+        int i = hashCode & mask;
+        while (tbl[i] != 0) {
+            i = i + 1 & mask;
+        }
+        tbl[i] = index + 1;
+    }
+
+    private void moveSlot(final int hashCode, final int from, final int to) {
+        final int[] tbl = indexTable;
+        final int mask = tbl.length - 1;
+        int i = hashCode & mask;
+        while (tbl[i] != from + 1) {
+            i = i + 1 & mask;
+        }
+        tbl[i] = to + 1;
+    }
+
+    private void removeSlot(final int index) {
+        final int[] tbl = indexTable;
+        final int mask = tbl.length - 1;
+        int i = hashes[index] & mask;
+        while (tbl[i] != index + 1) {
+            i = i + 1 & mask;
+        }
+        // backward shift deletion keeps every probe sequence unbroken without tombstones
+        for (int j = i + 1 & mask; tbl[j] != 0; j = j + 1 & mask) {
+            final int home = hashes[tbl[j] - 1] & mask;
+            if ((j - home & mask) >= (j - i & mask)) {
+                tbl[i] = tbl[j];
+                i = j;
+            }
+        }
+        tbl[i] = 0;
     }
 
     /**
@@ -578,13 +585,13 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
 
         @Override
         public Entry<K, V> next() {
-            try {
-                final Entry<K, V> n = listTable[current];
-                last = current++;
-                return n;
-            } catch (final IndexOutOfBoundsException e) {
+            if (current >= keys.length) {
                 throw new NoSuchElementException("current=" + current);
             }
+            // like reading past the end of the list, a free slot yields null
+            final Entry<K, V> n = current < size ? newEntry(current) : null;
+            last = current++;
+            return n;
         }
 
         @Override
@@ -600,51 +607,41 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
 
     /**
      * {@link Map.Entry} implementation for {@link ArrayMap}.
+     * <p>
+     * {@link #setValue(Object)} writes the value through to the map as long as the key is still
+     * mapped.
+     * </p>
      *
      * @param <K>
      *            the type of keys
      * @param <V>
      *            the type of values
      */
-    protected static class Entry<K, V> implements Map.Entry<K, V>, Externalizable {
-
-        private static final long serialVersionUID = -6625980241350717177L;
+    protected static class Entry<K, V> implements Map.Entry<K, V> {
 
-        /** Hash value */
-        protected transient int hashCode;
+        /** The map */
+        protected final ArrayMap<K, V> map;
 
         /** Key */
-        protected transient K key;
+        protected final K key;
 
         /** Value */
-        protected transient V value;
-
-        /** Next entry */
-        protected transient Entry<K, V> next;
-
-        /**
-         * Constructs an instance.
-         */
-        public Entry() {
-        }
+        protected V value;
 
         /**
          * Constructs an instance.
          *
-         * @param hashCode
-         *            the hash value
+         * @param map
+         *            the map
          * @param key
          *            the key
          * @param value
          *            the value
-         * @param next
-         *            the next entry
          */
-        public Entry(final int hashCode, final K key, final V value, final Entry<K, V> next) {
-            this.hashCode = hashCode;
+        public Entry(final ArrayMap<K, V> map, final K key, final V value) {
+            this.map = map;
             this.key = key;
             this.value = value;
-            this.next = next;
         }
 
         @Override
@@ -661,57 +658,34 @@ public class ArrayMap<K, V> extends AbstractMap<K, V> implements Map<K, V>, Clon
         public V setValue(final V value) {
             final V oldValue = this.value;
             this.value = value;
+            final int index = map.findIndex(key);
+            if (index >= 0) {
+                map.values[index] = value;
+            }
             return oldValue;
         }
 
-        /**
-         * Clears the state.
-         */
-        public void clear() {
-            key = null;
-            value = null;
-            next = null;
-        }
-
         @Override
         public boolean equals(final Object o) {
             if (this == o) {
                 return true;
             }
-            if (!(o instanceof Entry)) {
+            if (!(o instanceof Map.Entry)) {
                 return false;
             }
-            @SuppressWarnings("unchecked")
-            final Entry<K, V> e = (Entry<K, V>) o;
-            return (key != null ? key.equals(e.key) : e.key == null) && (value != null ? value.equals(e.value) : e.value == null);
+            final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
         }
 
         @Override
         public int hashCode() {
-            return hashCode;
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
         }
 
         @Override
         public String toString() {
             return key + "=" + value;
         }
-
-        @Override
-        public void writeExternal(final ObjectOutput s) throws IOException {
-            s.writeInt(hashCode);
-            s.writeObject(key);
-            s.writeObject(value);
-            s.writeObject(next);
-        }
-
-        @SuppressWarnings("unchecked")
-        @Override
-        public void readExternal(final ObjectInput s) throws IOException, ClassNotFoundException {
-            hashCode = s.readInt();
-            key = (K) s.readObject();
-            value = (V) s.readObject();
-            next = (Entry<K, V>) s.readObject();
-        }
     }
 
 }
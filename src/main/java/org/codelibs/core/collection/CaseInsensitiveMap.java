@@ -15,11 +15,13 @@
  */
 package org.codelibs.core.collection;
 
-import java.util.Locale;
-import java.util.Map;
-
 /**
  * {@link ArrayMap} that is case-insensitive for keys.
+ * <p>
+ * Keys are stored as given. Lookups hash and compare the characters case-folded in place, with a
+ * fast path for ASCII, so that no lower-cased copy of the key is created. The folding does not
+ * depend on the default locale.
+ * </p>
  *
  * @author higa
  * @param <V> the type of values
@@ -50,41 +52,61 @@ public class CaseInsensitiveMap<V> extends ArrayMap<String, V> {
      * @return whether the key is contained
      */
     public boolean containsKey(final String key) {
-        return super.containsKey(convertKey(key));
-    }
-
-    @Override
-    public V get(final Object key) {
-        return super.get(convertKey(key));
+        return super.containsKey(key);
     }
 
     @Override
     public final V put(final String key, final V value) {
-        return super.put(convertKey(key), value);
+        return super.put(key, value);
     }
 
     @Override
-    public void putAll(final Map<? extends String, ? extends V> map) {
-        for (final Map.Entry<? extends String, ? extends V> entry : map.entrySet()) {
-            put(convertKey(entry.getKey()), entry.getValue());
-        }
+    public final V remove(final Object key) {
+        return super.remove(key);
     }
 
     @Override
-    public final V remove(final Object key) {
-        return super.remove(convertKey(key));
+    protected int hash(final Object key) {
+        if (key == null) {
+            return 0;
+        }
+        final String s = key.toString();
+        int h = 0;
+        for (int i = 0; i < s.length(); i++) {
+            h = 31 * h + fold(s.charAt(i));
+        }
+        return h ^ h >>> 16;
     }
 
     @Override
-    public boolean containsKey(final Object key) {
-        return super.containsKey(convertKey(key));
+    protected boolean isSameKey(final Object key, final Object storedKey) {
+        if (key == storedKey) {
+            return true;
+        }
+        if (key == null || storedKey == null) {
+            return false;
+        }
+        final String s1 = key.toString();
+        final String s2 = storedKey.toString();
+        final int length = s1.length();
+        if (length != s2.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final char c1 = s1.charAt(i);
+            final char c2 = s2.charAt(i);
+            if (c1 != c2 && fold(c1) != fold(c2)) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private static String convertKey(final Object key) {
-        if (key == null) {
-            return null;
+    private static char fold(final char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
         }
-        return key.toString().toLowerCase(Locale.ROOT);
+        return Character.toLowerCase(Character.toUpperCase(c));
     }
 
 }
@@ -0,0 +1,478 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import static org.codelibs.core.misc.AssertionUtil.assertArgument;
+import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread-safe {@link Map} with an upper limit on the number of entries, for use in place of a
+ * synchronized {@link LruHashMap}.
+ * <p>
+ * The entries are spread over lock-striped segments by the hash of the key. Each segment is an
+ * {@link LruHashMap} holding its share of {@link #getLimitSize() limitSize}, so the total number of
+ * entries never exceeds the limit and threads touching different segments never contend. The
+ * least recently used entry is discarded per segment, which approximates LRU over the whole map.
+ * Small maps use fewer segments so that each one still holds enough entries.
+ * </p>
+ * <p>
+ * Keys and values must not be <code>null</code>. Iterators are weakly consistent: they iterate
+ * over a snapshot taken segment by segment.
+ * </p>
+ *
+ * @author shinsuke
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ConcurrentLruHashMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+    /**
+     * Default concurrency level.
+     */
+    protected static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * Minimum number of entries a segment is expected to hold.
+     */
+    protected static final int MIN_SEGMENT_SIZE = 16;
+
+    /**
+     * Upper limit on the number of entries.
+     */
+    protected final int limitSize;
+
+    /**
+     * The segments.
+     */
+    protected final Segment<K, V>[] segments;
+
+    private final int segmentShift;
+
+    private final EvictionListener<? super K, ? super V> evictionListener;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * Creates a {@link ConcurrentLruHashMap}.
+     *
+     * @param limitSize the upper limit on the number of entries
+     */
+    public ConcurrentLruHashMap(final int limitSize) {
+        this(limitSize, DEFAULT_CONCURRENCY_LEVEL, null);
+    }
+
+    /**
+     * Creates a {@link ConcurrentLruHashMap}.
+     *
+     * @param limitSize the upper limit on the number of entries
+     * @param evictionListener the listener notified of evicted entries, or <code>null</code>
+     */
+    public ConcurrentLruHashMap(final int limitSize, final EvictionListener<? super K, ? super V> evictionListener) {
+        this(limitSize, DEFAULT_CONCURRENCY_LEVEL, evictionListener);
+    }
+
+    /**
+     * Creates a {@link ConcurrentLruHashMap}.
+     *
+     * @param limitSize the upper limit on the number of entries
+     * @param concurrencyLevel the maximum number of segments
+     * @param evictionListener the listener notified of evicted entries, or <code>null</code>
+     */
+    public ConcurrentLruHashMap(final int limitSize, final int concurrencyLevel, final EvictionListener<? super K, ? super V> evictionListener) {
+        assertArgument("limitSize", limitSize > 0, "limitSize must be positive.");
+        assertArgument("concurrencyLevel", concurrencyLevel > 0, "concurrencyLevel must be positive.");
+        this.limitSize = limitSize;
+        this.evictionListener = evictionListener;
+        int bits = 0;
+        while (1 << bits + 1 <= concurrencyLevel && limitSize >> bits + 1 >= MIN_SEGMENT_SIZE) {
+            bits++;
+        }
+        final int segmentCount = 1 << bits;
+        segmentShift = 32 - bits;
+        segments = newSegments(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(limitSize / segmentCount + (i < limitSize % segmentCount ? 1 : 0));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Segment<K, V>[] newSegments(final int length) {
+        return (Segment<K, V>[]) new Segment<?, ?>[length];
+    }
+
+    /**
+     * Returns the upper limit on the number of entries.
+     *
+     * @return the upper limit on the number of entries
+     */
+    public int getLimitSize() {
+        return limitSize;
+    }
+
+    /**
+     * Returns the number of lookups that found an entry.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found no entry.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the number of evicted entries.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                if (!segment.isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        assertArgumentNotNull("key", key);
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        assertArgumentNotNull("value", value);
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                if (segment.containsValue(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(final Object key) {
+        assertArgumentNotNull("key", key);
+        final Segment<K, V> segment = segmentFor(key);
+        final V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        assertArgumentNotNull("key", key);
+        assertArgumentNotNull("value", value);
+        final Segment<K, V> segment = segmentFor(key);
+        final V old;
+        final Map.Entry<K, V> evicted;
+        synchronized (segment) {
+            old = segment.put(key, value);
+            evicted = segment.pollEvicted();
+        }
+        notifyEvicted(evicted);
+        return old;
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        assertArgumentNotNull("key", key);
+        assertArgumentNotNull("value", value);
+        final Segment<K, V> segment = segmentFor(key);
+        final V old;
+        final Map.Entry<K, V> evicted;
+        synchronized (segment) {
+            old = segment.putIfAbsent(key, value);
+            evicted = segment.pollEvicted();
+        }
+        notifyEvicted(evicted);
+        return old;
+    }
+
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        assertArgumentNotNull("key", key);
+        assertArgumentNotNull("mappingFunction", mappingFunction);
+        final Segment<K, V> segment = segmentFor(key);
+        final V value;
+        final Map.Entry<K, V> evicted;
+        synchronized (segment) {
+            final V current = segment.get(key);
+            if (current != null) {
+                hitCount.increment();
+                return current;
+            }
+            missCount.increment();
+            value = segment.computeIfAbsent(key, mappingFunction);
+            evicted = segment.pollEvicted();
+        }
+        notifyEvicted(evicted);
+        return value;
+    }
+
+    @Override
+    public V replace(final K key, final V value) {
+        assertArgumentNotNull("key", key);
+        assertArgumentNotNull("value", value);
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.replace(key, value);
+        }
+    }
+
+    @Override
+    public boolean replace(final K key, final V oldValue, final V newValue) {
+        assertArgumentNotNull("key", key);
+        assertArgumentNotNull("oldValue", oldValue);
+        assertArgumentNotNull("newValue", newValue);
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.replace(key, oldValue, newValue);
+        }
+    }
+
+    @Override
+    public V remove(final Object key) {
+        assertArgumentNotNull("key", key);
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    @Override
+    public boolean remove(final Object key, final Object value) {
+        assertArgumentNotNull("key", key);
+        if (value == null) {
+            return false;
+        }
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key, value);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (final Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Returns the segment for the key.
+     *
+     * @param key the key
+     * @return the segment
+     */
+    protected Segment<K, V> segmentFor(final Object key) {
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        final int h = key.hashCode() * 0x9E3779B9;
+        return segments[h >>> segmentShift];
+    }
+
+    private void notifyEvicted(final Map.Entry<K, V> evicted) {
+        if (evicted != null) {
+            evictionCount.increment();
+            if (evictionListener != null) {
+                evictionListener.evicted(evicted.getKey(), evicted.getValue());
+            }
+        }
+    }
+
+    /**
+     * A segment of {@link ConcurrentLruHashMap}, guarded by its own monitor.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    protected static class Segment<K, V> extends LruHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient Map.Entry<K, V> evicted;
+
+        /**
+         * Creates a {@link Segment}.
+         *
+         * @param limitSize the upper limit on the number of entries
+         */
+        protected Segment(final int limitSize) {
+            super(limitSize);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, V> entry) {
+            if (size() > limitSize) {
+                evicted = entry;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Returns and forgets the entry evicted by the last insertion.
+         *
+         * @return the evicted entry, or <code>null</code>
+         */
+        protected Map.Entry<K, V> pollEvicted() {
+            final Map.Entry<K, V> entry = evicted;
+            evicted = null;
+            return entry;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            final List<Map.Entry<K, V>> snapshot = new ArrayList<>();
+            for (final Segment<K, V> segment : segments) {
+                synchronized (segment) {
+                    for (final Map.Entry<K, V> entry : segment.entrySet()) {
+                        snapshot.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+                    }
+                }
+            }
+            final Iterator<Map.Entry<K, V>> itr = snapshot.iterator();
+            return new Iterator<>() {
+                private Map.Entry<K, V> current;
+
+                @Override
+                public boolean hasNext() {
+                    return itr.hasNext();
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    current = itr.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException();
+                    }
+                    ConcurrentLruHashMap.this.remove(current.getKey(), current.getValue());
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            if (entry.getKey() == null || entry.getValue() == null) {
+                return false;
+            }
+            final Segment<K, V> segment = segmentFor(entry.getKey());
+            synchronized (segment) {
+                final V value = segment.get(entry.getKey());
+                return value != null && value.equals(entry.getValue());
+            }
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return entry.getKey() != null && ConcurrentLruHashMap.this.remove(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentLruHashMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentLruHashMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A thread-safe {@link Set} implementation that stores its elements in a {@link ConcurrentLruHashMap}.
+ * <p>
+ * This set has a fixed maximum capacity. When the capacity is reached and a new element is added,
+ * the least recently used element of the same segment is removed. Elements must not be
+ * <code>null</code>.
+ * </p>
+ *
+ * @author shinsuke
+ * @param <E> the type of elements maintained by this set
+ */
+public class ConcurrentLruHashSet<E> extends AbstractSet<E> implements Set<E> {
+
+    /**
+     * The internal map used to store elements.
+     */
+    private final ConcurrentLruHashMap<E, Boolean> map;
+
+    /**
+     * Creates a new {@link ConcurrentLruHashSet} with the specified limit size.
+     *
+     * @param limitSize
+     *            the maximum number of elements to retain in the set
+     */
+    public ConcurrentLruHashSet(final int limitSize) {
+        map = new ConcurrentLruHashMap<>(limitSize);
+    }
+
+    /**
+     * Creates a new {@link ConcurrentLruHashSet} with the specified limit size.
+     *
+     * @param limitSize
+     *            the maximum number of elements to retain in the set
+     * @param evictionListener
+     *            the listener notified of evicted elements, or <code>null</code>
+     */
+    public ConcurrentLruHashSet(final int limitSize, final EvictionListener<? super E, ? super Boolean> evictionListener) {
+        map = new ConcurrentLruHashMap<>(limitSize, evictionListener);
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in this set.
+     *
+     * @return an Iterator over the elements in this set.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return map.keySet().iterator();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return map.containsKey(o);
+    }
+
+    @Override
+    public boolean add(final E o) {
+        return map.put(o, Boolean.TRUE) == null;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        return map.remove(o) != null;
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * Returns the upper limit on the number of elements.
+     *
+     * @return the upper limit on the number of elements
+     */
+    public int getLimitSize() {
+        return map.getLimitSize();
+    }
+
+    /**
+     * Returns the number of evicted elements.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return map.getEvictionCount();
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+/**
+ * A listener notified when a bounded map discards an entry to stay within its limit.
+ *
+ * @author shinsuke
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+@FunctionalInterface
+public interface EvictionListener<K, V> {
+
+    /**
+     * Called after an entry has been evicted.
+     *
+     * @param key the key of the evicted entry
+     * @param value the value of the evicted entry
+     */
+    void evicted(K key, V value);
+}
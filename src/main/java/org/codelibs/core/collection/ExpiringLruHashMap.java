@@ -0,0 +1,454 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import static org.codelibs.core.misc.AssertionUtil.assertArgument;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.codelibs.core.timer.TimeoutManager;
+import org.codelibs.core.timer.TimeoutTarget;
+import org.codelibs.core.timer.TimeoutTask;
+
+/**
+ * A map like {@link LruHashMap} whose entries also expire after a fixed time since they were
+ * written or last read.
+ * <p>
+ * Entries are bounded by {@link #getLimitSize() limitSize} exactly like {@link LruHashMap}. In
+ * addition, an entry expires once <code>expireAfterWrite</code> has passed since it was put, or
+ * <code>expireAfterAccess</code> has passed since it was last read or put, whichever is enabled.
+ * No timer is kept per entry: the entries are linked both in access order, which also decides
+ * the LRU eviction, and in write order, so the expired ones are always at the head of one of the
+ * lists. An expired entry is removed when it is looked up, and every write removes the expired
+ * entries at the heads of the lists.
+ * {@link #scheduleCleanUp(Duration)} additionally sweeps the map periodically on the shared
+ * {@link TimeoutManager}, which frees idle maps as well.
+ * </p>
+ * <p>
+ * <strong>Thread-Safety:</strong> All operations synchronize on the map, so that the periodic
+ * sweep is safe. As with {@link java.util.Collections#synchronizedMap(Map)}, iteration over the
+ * views must be done while holding the map's monitor.
+ * </p>
+ *
+ * @author shinsuke
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringLruHashMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * Upper limit on the number of entries.
+     */
+    protected final int limitSize;
+
+    /**
+     * Time to live after a write in nanoseconds, or <code>0</code> if disabled.
+     */
+    protected final long expireAfterWriteNanos;
+
+    /**
+     * Time to live after an access in nanoseconds, or <code>0</code> if disabled.
+     */
+    protected final long expireAfterAccessNanos;
+
+    private final HashMap<K, Node> map = new HashMap<>();
+
+    private Node accessHead;
+
+    private Node accessTail;
+
+    private Node writeHead;
+
+    private Node writeTail;
+
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * Creates an {@link ExpiringLruHashMap}.
+     *
+     * @param limitSize the upper limit on the number of entries
+     * @param expireAfterWrite the time to live after a write, or <code>null</code> if disabled
+     * @param expireAfterAccess the time to live after a read or a write, or <code>null</code> if disabled
+     */
+    public ExpiringLruHashMap(final int limitSize, final Duration expireAfterWrite, final Duration expireAfterAccess) {
+        assertArgument("limitSize", limitSize > 0, "limitSize must be positive.");
+        assertArgument("expireAfterWrite", expireAfterWrite == null || !expireAfterWrite.isNegative() && !expireAfterWrite.isZero(),
+                "expireAfterWrite must be positive.");
+        assertArgument("expireAfterAccess", expireAfterAccess == null || !expireAfterAccess.isNegative() && !expireAfterAccess.isZero(),
+                "expireAfterAccess must be positive.");
+        this.limitSize = limitSize;
+        expireAfterWriteNanos = expireAfterWrite == null ? 0L : expireAfterWrite.toNanos();
+        expireAfterAccessNanos = expireAfterAccess == null ? 0L : expireAfterAccess.toNanos();
+    }
+
+    /**
+     * Returns the upper limit on the number of entries.
+     *
+     * @return the upper limit on the number of entries
+     */
+    public int getLimitSize() {
+        return limitSize;
+    }
+
+    @Override
+    public synchronized int size() {
+        cleanUp();
+        return map.size();
+    }
+
+    @Override
+    public synchronized boolean containsKey(final Object key) {
+        return getNode(key, false) != null;
+    }
+
+    @Override
+    public synchronized V get(final Object key) {
+        final Node node = getNode(key, true);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public synchronized V put(final K key, final V value) {
+        final long now = currentTimeNanos();
+        expireEntries(now);
+        final Node node = map.get(key);
+        if (node != null) {
+            final V old = node.value;
+            node.value = value;
+            touch(node, now);
+            return old;
+        }
+        final Node added = new Node(key, value, now);
+        map.put(key, added);
+        linkAccess(added);
+        linkWrite(added);
+        if (map.size() > limitSize) {
+            removeNode(accessHead);
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized V remove(final Object key) {
+        final Node node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        removeNode(node);
+        return isExpired(node, currentTimeNanos()) ? null : node.value;
+    }
+
+    @Override
+    public synchronized void clear() {
+        map.clear();
+        accessHead = null;
+        accessTail = null;
+        writeHead = null;
+        writeTail = null;
+    }
+
+    @Override
+    public synchronized Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Removes all expired entries.
+     */
+    public synchronized void cleanUp() {
+        expireEntries(currentTimeNanos());
+    }
+
+    /**
+     * Sweeps the expired entries periodically on the singleton {@link TimeoutManager}. The task
+     * holds this map weakly and cancels itself once the map is garbage collected.
+     *
+     * @param interval the interval of the sweep
+     * @return the {@link TimeoutTask}; cancel it to stop the sweep
+     */
+    public TimeoutTask scheduleCleanUp(final Duration interval) {
+        final CleanUpTarget target = new CleanUpTarget(this);
+        target.task = TimeoutManager.getInstance().addTimeoutTarget(target, interval, true);
+        return target.task;
+    }
+
+    /**
+     * Returns the current time in nanoseconds.
+     *
+     * @return the current time
+     */
+    protected long currentTimeNanos() {
+        return System.nanoTime();
+    }
+
+    private Node getNode(final Object key, final boolean access) {
+        final Node node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        final long now = currentTimeNanos();
+        if (isExpired(node, now)) {
+            removeNode(node);
+            return null;
+        }
+        if (access) {
+            node.accessTime = now;
+            unlinkAccess(node);
+            linkAccess(node);
+        }
+        return node;
+    }
+
+    private boolean isExpired(final Node node, final long now) {
+        return expireAfterWriteNanos > 0L && now - node.writeTime >= expireAfterWriteNanos
+                || expireAfterAccessNanos > 0L && now - node.accessTime >= expireAfterAccessNanos;
+    }
+
+    private void expireEntries(final long now) {
+        if (expireAfterAccessNanos > 0L) {
+            while (accessHead != null && now - accessHead.accessTime >= expireAfterAccessNanos) {
+                removeNode(accessHead);
+            }
+        }
+        if (expireAfterWriteNanos > 0L) {
+            while (writeHead != null && now - writeHead.writeTime >= expireAfterWriteNanos) {
+                removeNode(writeHead);
+            }
+        }
+    }
+
+    private void touch(final Node node, final long now) {
+        node.accessTime = now;
+        node.writeTime = now;
+        unlinkAccess(node);
+        linkAccess(node);
+        unlinkWrite(node);
+        linkWrite(node);
+    }
+
+    private void removeNode(final Node node) {
+        map.remove(node.key);
+        unlinkAccess(node);
+        unlinkWrite(node);
+    }
+
+    private void linkAccess(final Node node) {
+        node.accessPrev = accessTail;
+        node.accessNext = null;
+        if (accessTail == null) {
+            accessHead = node;
+        } else {
+            accessTail.accessNext = node;
+        }
+        accessTail = node;
+    }
+
+    private void unlinkAccess(final Node node) {
+        if (node.accessPrev == null) {
+            accessHead = node.accessNext;
+        } else {
+            node.accessPrev.accessNext = node.accessNext;
+        }
+        if (node.accessNext == null) {
+            accessTail = node.accessPrev;
+        } else {
+            node.accessNext.accessPrev = node.accessPrev;
+        }
+        node.accessPrev = null;
+        node.accessNext = null;
+    }
+
+    private void linkWrite(final Node node) {
+        node.writePrev = writeTail;
+        node.writeNext = null;
+        if (writeTail == null) {
+            writeHead = node;
+        } else {
+            writeTail.writeNext = node;
+        }
+        writeTail = node;
+    }
+
+    private void unlinkWrite(final Node node) {
+        if (node.writePrev == null) {
+            writeHead = node.writeNext;
+        } else {
+            node.writePrev.writeNext = node.writeNext;
+        }
+        if (node.writeNext == null) {
+            writeTail = node.writePrev;
+        } else {
+            node.writeNext.writePrev = node.writePrev;
+        }
+        node.writePrev = null;
+        node.writeNext = null;
+    }
+
+    /**
+     * An entry with its timestamps, linked in access order and in write order.
+     */
+    private final class Node implements Map.Entry<K, V> {
+
+        final K key;
+
+        V value;
+
+        long writeTime;
+
+        long accessTime;
+
+        Node accessPrev;
+
+        Node accessNext;
+
+        Node writePrev;
+
+        Node writeNext;
+
+        Node(final K key, final V value, final long now) {
+            this.key = key;
+            this.value = value;
+            writeTime = now;
+            accessTime = now;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            synchronized (ExpiringLruHashMap.this) {
+                final V old = this.value;
+                this.value = value;
+                if (map.get(key) == this) {
+                    touch(this, currentTimeNanos());
+                }
+                return old;
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            cleanUp();
+            return new Iterator<>() {
+                private Node next = accessHead;
+
+                private Node current;
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    current = next;
+                    next = next.accessNext;
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException();
+                    }
+                    synchronized (ExpiringLruHashMap.this) {
+                        removeNode(current);
+                    }
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ExpiringLruHashMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ExpiringLruHashMap.this.clear();
+        }
+    }
+
+    /**
+     * A {@link TimeoutTarget} that sweeps a weakly referenced map.
+     */
+    private static class CleanUpTarget implements TimeoutTarget {
+
+        private final WeakReference<ExpiringLruHashMap<?, ?>> mapRef;
+
+        volatile TimeoutTask task;
+
+        CleanUpTarget(final ExpiringLruHashMap<?, ?> map) {
+            mapRef = new WeakReference<>(map);
+        }
+
+        @Override
+        public void expired() {
+            final ExpiringLruHashMap<?, ?> map = mapRef.get();
+            if (map != null) {
+                map.cleanUp();
+            } else if (task != null) {
+                task.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import java.time.Duration;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.codelibs.core.timer.TimeoutTask;
+
+/**
+ * A {@link Set} implementation that stores its elements in an {@link ExpiringLruHashMap}.
+ * <p>
+ * Like {@link LruHashSet}, this set removes the least recently used element when the capacity is
+ * reached. In addition, elements expire after a fixed time since they were added or last looked up.
+ * </p>
+ *
+ * @author shinsuke
+ * @param <E> the type of elements maintained by this set
+ */
+public class ExpiringLruHashSet<E> extends AbstractSet<E> implements Set<E> {
+
+    // Dummy value to associate with an Object in the backing Map
+    private static final Object PRESENT = new Object();
+
+    /**
+     * The internal map used to store elements.
+     */
+    private final ExpiringLruHashMap<E, Object> map;
+
+    /**
+     * Creates a new {@link ExpiringLruHashSet}.
+     *
+     * @param limitSize
+     *            the maximum number of elements to retain in the set
+     * @param expireAfterWrite
+     *            the time to live after an element is added, or <code>null</code> if disabled
+     * @param expireAfterAccess
+     *            the time to live after an element is added or looked up, or <code>null</code> if disabled
+     */
+    public ExpiringLruHashSet(final int limitSize, final Duration expireAfterWrite, final Duration expireAfterAccess) {
+        map = new ExpiringLruHashMap<>(limitSize, expireAfterWrite, expireAfterAccess);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return map.keySet().iterator();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Returns true if this set contains the specified element, and records the access.
+     *
+     * @param o
+     *            element whose presence in this set is to be tested.
+     * @return true if this set contains the specified element.
+     */
+    @Override
+    public boolean contains(final Object o) {
+        return map.get(o) == PRESENT;
+    }
+
+    @Override
+    public boolean add(final E o) {
+        return map.put(o, PRESENT) == null;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        return map.remove(o) == PRESENT;
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * Removes all expired elements.
+     */
+    public void cleanUp() {
+        map.cleanUp();
+    }
+
+    /**
+     * Sweeps the expired elements periodically.
+     *
+     * @param interval the interval of the sweep
+     * @return the {@link TimeoutTask}; cancel it to stop the sweep
+     * @see ExpiringLruHashMap#scheduleCleanUp(Duration)
+     */
+    public TimeoutTask scheduleCleanUp(final Duration interval) {
+        return map.scheduleCleanUp(interval);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+/**
+ * A count-min sketch that estimates how often elements have been seen recently.
+ * <p>
+ * Each element is counted by four 4-bit counters packed into <code>long</code> words, so the
+ * sketch takes about 8 bytes per expected element. Once the number of recorded accesses reaches
+ * ten times the capacity, every counter is halved so that old popularity fades away.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @author shinsuke
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+
+    private final int tableMask;
+
+    private final int sampleSize;
+
+    private int size;
+
+    /**
+     * Creates a {@link FrequencySketch}.
+     *
+     * @param capacity the expected number of distinct elements to tell apart
+     */
+    FrequencySketch(final int capacity) {
+        final int length = Integer.highestOneBit(Math.max(capacity, 8) - 1) << 1;
+        table = new long[length];
+        tableMask = length - 1;
+        sampleSize = Math.max(capacity, 1) * 10;
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the element, up to <code>15</code>.
+     *
+     * @param e the element
+     * @return the estimated frequency
+     */
+    int frequency(final Object e) {
+        final int hash = spread(e.hashCode());
+        final int start = (hash & 3) << 2;
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < 4; i++) {
+            final int offset = start + i << 2;
+            final int count = (int) (table[indexOf(hash, i)] >>> offset & MAX_COUNT);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an occurrence of the element.
+     *
+     * @param e the element
+     */
+    void increment(final Object e) {
+        final int hash = spread(e.hashCode());
+        final int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            final int index = indexOf(hash, i);
+            final int offset = start + i << 2;
+            if ((table[index] >>> offset & MAX_COUNT) != MAX_COUNT) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Halves every counter.
+     */
+    void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = table[i] >>> 1 & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+
+    private int indexOf(final int hash, final int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int spread(final int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -34,8 +34,16 @@ import java.util.Map;
  * Map&lt;K, V&gt; syncMap = Collections.synchronizedMap(new LruHashMap&lt;&gt;(100));
  * </pre>
  * <p>
- * Alternatively, for high-concurrency scenarios, consider implementing a custom
- * LRU cache using {@link java.util.concurrent.ConcurrentHashMap} with an eviction strategy.
+ * Alternatively, for high-concurrency scenarios, use {@link ConcurrentLruHashMap}, which
+ * stripes the entries over independently locked segments.
+ * </p>
+ * <p>
+ * A single scan over many cold keys flushes every other entry. When that matters, use
+ * {@link TinyLfuHashMap}, which admits new entries only if they are used often enough.
+ * </p>
+ * <p>
+ * To bound the map by the size of its values rather than the number of entries, use
+ * {@link WeightedLruHashMap}.
  * </p>
  *
  * @author koichik
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import static org.codelibs.core.misc.AssertionUtil.assertArgument;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link Map} with an upper limit on the number of entries that uses the W-TinyLFU policy
+ * instead of LRU to choose the entry to discard.
+ * <p>
+ * New entries enter a small LRU window (1% of the limit). An entry leaving the window is admitted
+ * to the main area only if it has been accessed more often than the entry the main area would
+ * evict, as estimated by a {@link FrequencySketch}. The main area is a segmented LRU whose
+ * protected part (80%) holds entries accessed again after admission. A single scan over many cold
+ * keys therefore passes through the window without flushing the frequently used entries, unlike
+ * {@link LruHashMap}.
+ * </p>
+ * <p>
+ * <strong>Thread-Safety:</strong> This class is <strong>NOT thread-safe</strong>; {@link #get(Object)}
+ * updates the policy. Synchronize externally when it is shared. The iteration order is unspecified.
+ * </p>
+ *
+ * @author shinsuke
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class TinyLfuHashMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * Percentage of the limit used by the window.
+     */
+    protected static final int WINDOW_PERCENTAGE = 1;
+
+    /**
+     * Percentage of the main area used by the protected part.
+     */
+    protected static final int PROTECTED_PERCENTAGE = 80;
+
+    /**
+     * Upper limit on the number of entries.
+     */
+    protected final int limitSize;
+
+    private final int windowLimit;
+
+    private final int protectedLimit;
+
+    private final HashMap<K, Node<K, V>> data;
+
+    private final FrequencySketch sketch;
+
+    private final NodeList<K, V> window = new NodeList<>();
+
+    private final NodeList<K, V> probation = new NodeList<>();
+
+    private final NodeList<K, V> protectedList = new NodeList<>();
+
+    private final EvictionListener<? super K, ? super V> evictionListener;
+
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * Creates a {@link TinyLfuHashMap}.
+     *
+     * @param limitSize the upper limit on the number of entries
+     */
+    public TinyLfuHashMap(final int limitSize) {
+        this(limitSize, null);
+    }
+
+    /**
+     * Creates a {@link TinyLfuHashMap}.
+     *
+     * @param limitSize the upper limit on the number of entries
+     * @param evictionListener the listener notified of evicted entries, or <code>null</code>
+     */
+    public TinyLfuHashMap(final int limitSize, final EvictionListener<? super K, ? super V> evictionListener) {
+        assertArgument("limitSize", limitSize > 0, "limitSize must be positive.");
+        this.limitSize = limitSize;
+        this.evictionListener = evictionListener;
+        windowLimit = Math.max(1, limitSize * WINDOW_PERCENTAGE / 100);
+        protectedLimit = (limitSize - windowLimit) * PROTECTED_PERCENTAGE / 100;
+        data = new HashMap<>();
+        sketch = new FrequencySketch(limitSize);
+    }
+
+    /**
+     * Returns the upper limit on the number of entries.
+     *
+     * @return the upper limit on the number of entries
+     */
+    public int getLimitSize() {
+        return limitSize;
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return data.containsKey(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+        if (key != null) {
+            sketch.increment(key);
+        }
+        final Node<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        onAccess(node);
+        return node.value;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final Node<K, V> node = data.get(key);
+        if (key != null) {
+            sketch.increment(key);
+        }
+        if (node != null) {
+            final V old = node.value;
+            node.value = value;
+            onAccess(node);
+            return old;
+        }
+        final Node<K, V> added = new Node<>(key, value);
+        data.put(key, added);
+        added.region = Node.WINDOW;
+        window.addLast(added);
+        if (window.size > windowLimit) {
+            evictFromWindow();
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final Node<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+        listOf(node).remove(node);
+        return node.value;
+    }
+
+    @Override
+    public void clear() {
+        data.clear();
+        window.clear();
+        probation.clear();
+        protectedList.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    final Iterator<Node<K, V>> itr = data.values().iterator();
+                    return new Iterator<>() {
+                        private Node<K, V> current;
+
+                        @Override
+                        public boolean hasNext() {
+                            return itr.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<K, V> next() {
+                            current = itr.next();
+                            return current;
+                        }
+
+                        @Override
+                        public void remove() {
+                            itr.remove();
+                            listOf(current).remove(current);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return data.size();
+                }
+
+                @Override
+                public void clear() {
+                    TinyLfuHashMap.this.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private void onAccess(final Node<K, V> node) {
+        switch (node.region) {
+        case Node.WINDOW:
+            window.moveToLast(node);
+            break;
+        case Node.PROBATION:
+            probation.remove(node);
+            node.region = Node.PROTECTED;
+            protectedList.addLast(node);
+            if (protectedList.size > protectedLimit) {
+                final Node<K, V> demoted = protectedList.removeFirst();
+                demoted.region = Node.PROBATION;
+                probation.addLast(demoted);
+            }
+            break;
+        default:
+            protectedList.moveToLast(node);
+            break;
+        }
+    }
+
+    private void evictFromWindow() {
+        final Node<K, V> candidate = window.removeFirst();
+        candidate.region = Node.PROBATION;
+        if (probation.size + protectedList.size < limitSize - windowLimit) {
+            probation.addLast(candidate);
+            return;
+        }
+        final NodeList<K, V> victims = probation.head != null ? probation : protectedList;
+        final Node<K, V> victim = victims.head;
+        if (victim == null) {
+            evict(candidate);
+        } else if (candidate.key != null && victim.key != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            victims.remove(victim);
+            evict(victim);
+            probation.addLast(candidate);
+        } else {
+            evict(candidate);
+        }
+    }
+
+    private void evict(final Node<K, V> node) {
+        data.remove(node.key);
+        if (evictionListener != null) {
+            evictionListener.evicted(node.key, node.value);
+        }
+    }
+
+    private NodeList<K, V> listOf(final Node<K, V> node) {
+        switch (node.region) {
+        case Node.WINDOW:
+            return window;
+        case Node.PROBATION:
+            return probation;
+        default:
+            return protectedList;
+        }
+    }
+
+    /**
+     * An entry linked into the list of its region.
+     */
+    private static final class Node<K, V> implements Map.Entry<K, V> {
+
+        static final int WINDOW = 0;
+
+        static final int PROBATION = 1;
+
+        static final int PROTECTED = 2;
+
+        final K key;
+
+        V value;
+
+        int region;
+
+        Node<K, V> prev;
+
+        Node<K, V> next;
+
+        Node(final K key, final V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            final V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    /**
+     * An intrusive doubly-linked list of {@link Node}s in LRU order.
+     */
+    private static final class NodeList<K, V> {
+
+        Node<K, V> head;
+
+        Node<K, V> tail;
+
+        int size;
+
+        void addLast(final Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        Node<K, V> removeFirst() {
+            final Node<K, V> node = head;
+            remove(node);
+            return node;
+        }
+
+        void remove(final Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToLast(final Node<K, V> node) {
+            if (tail != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
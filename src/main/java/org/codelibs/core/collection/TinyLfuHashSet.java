@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A {@link Set} implementation that stores its elements in a {@link TinyLfuHashMap}.
+ * <p>
+ * This set has a fixed maximum capacity. When the capacity is reached and a new element is added,
+ * either the new element or a rarely used one is removed, as decided by the W-TinyLFU policy.
+ * </p>
+ *
+ * @author shinsuke
+ * @param <E> the type of elements maintained by this set
+ */
+public class TinyLfuHashSet<E> extends AbstractSet<E> implements Set<E> {
+
+    // Dummy value to associate with an Object in the backing Map
+    private static final Object PRESENT = new Object();
+
+    /**
+     * The internal map used to store elements.
+     */
+    private final TinyLfuHashMap<E, Object> map;
+
+    /**
+     * Creates a new {@link TinyLfuHashSet} with the specified limit size.
+     *
+     * @param limitSize
+     *            the maximum number of elements to retain in the set
+     */
+    public TinyLfuHashSet(final int limitSize) {
+        map = new TinyLfuHashMap<>(limitSize);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return map.keySet().iterator();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * Returns true if this set contains the specified element, and records the access.
+     *
+     * @param o
+     *            element whose presence in this set is to be tested.
+     * @return true if this set contains the specified element.
+     */
+    @Override
+    public boolean contains(final Object o) {
+        return map.get(o) == PRESENT;
+    }
+
+    @Override
+    public boolean add(final E o) {
+        return map.put(o, PRESENT) == null;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        return map.remove(o) == PRESENT;
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * Returns the upper limit on the number of elements.
+     *
+     * @return the upper limit on the number of elements
+     */
+    public int getLimitSize() {
+        return map.getLimitSize();
+    }
+}
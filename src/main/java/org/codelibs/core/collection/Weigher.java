@@ -0,0 +1,135 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calculates the weight of an entry of a weight-bounded map such as {@link WeightedLruHashMap}.
+ *
+ * @author shinsuke
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * Returns the weight of the entry. The weight must not change while the entry is in the map.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the weight, not negative
+     */
+    long weigh(K key, V value);
+
+    /**
+     * Returns a {@link Weigher} that weighs each entry as <code>1</code>.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return the {@link Weigher}
+     */
+    static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1L;
+    }
+
+    /**
+     * Returns a {@link Weigher} that weighs each entry by the estimated heap size in bytes of
+     * its key and value.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     * @return the {@link Weigher}
+     * @see #estimateSize(Object)
+     */
+    static <K, V> Weigher<K, V> estimatedSize() {
+        return (key, value) -> estimateSize(key) + estimateSize(value);
+    }
+
+    /**
+     * Estimates the heap size of an object in bytes.
+     * <p>
+     * Arrays, {@link CharSequence}s, {@link Collection}s and {@link Map}s are estimated from their
+     * contents, assuming a 64-bit JVM with compressed references and compact strings. Any other
+     * object is counted as a 16-byte object header. An array, collection or map reached again
+     * through the contents, including a cyclic reference, is counted only once.
+     * </p>
+     *
+     * @param o the object
+     * @return the estimated size in bytes
+     */
+    static long estimateSize(final Object o) {
+        return estimateSize(o, null);
+    }
+
+    private static long estimateSize(final Object o, final Set<Object> visited) {
+        if (o == null) {
+            return 0L;
+        }
+        if (o instanceof byte[]) {
+            return 16L + ((byte[]) o).length;
+        }
+        if (o instanceof char[]) {
+            return 16L + 2L * ((char[]) o).length;
+        }
+        if (o instanceof String) {
+            // String object + byte[] value
+            return 40L + ((String) o).length();
+        }
+        if (o instanceof CharSequence) {
+            return 40L + 2L * ((CharSequence) o).length();
+        }
+        if (o instanceof int[] || o instanceof float[]) {
+            return 16L + 4L * Array.getLength(o);
+        }
+        if (o instanceof long[] || o instanceof double[]) {
+            return 16L + 8L * Array.getLength(o);
+        }
+        if (!(o instanceof Object[] || o instanceof Collection || o instanceof Map)) {
+            return 16L;
+        }
+        final Set<Object> containers = visited != null ? visited : Collections.newSetFromMap(new IdentityHashMap<>());
+        if (!containers.add(o)) {
+            // already counted
+            return 0L;
+        }
+        if (o instanceof Object[]) {
+            long size = 16L;
+            for (final Object e : (Object[]) o) {
+                size += 4L + estimateSize(e, containers);
+            }
+            return size;
+        }
+        if (o instanceof Collection) {
+            long size = 40L;
+            for (final Object e : (Collection<?>) o) {
+                size += 24L + estimateSize(e, containers);
+            }
+            return size;
+        }
+        long size = 48L;
+        for (final Map.Entry<?, ?> e : ((Map<?, ?>) o).entrySet()) {
+            size += 32L + estimateSize(e.getKey(), containers) + estimateSize(e.getValue(), containers);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import static org.codelibs.core.misc.AssertionUtil.assertArgument;
+import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map like {@link LruHashMap} that is bounded by the total weight of its entries instead of
+ * their number.
+ * <p>
+ * The weight of each entry is calculated once by a {@link Weigher} when it is put. When the total
+ * weight exceeds {@link #getMaximumWeight() maximumWeight}, the least recently used entries are
+ * discarded until it fits, so the map stays within a memory budget when the sizes of the values
+ * vary widely. An entry heavier than <code>maximumWeight</code> is discarded immediately without
+ * evicting the others. {@link Weigher#estimatedSize()} estimates the heap size of common value types.
+ * </p>
+ * <p>
+ * <strong>Thread-Safety:</strong> This class is <strong>NOT thread-safe</strong>; {@link #get(Object)}
+ * updates the access order. Synchronize externally when it is shared.
+ * </p>
+ *
+ * @author shinsuke
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class WeightedLruHashMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * Upper limit on the total weight of the entries.
+     */
+    protected final long maximumWeight;
+
+    /**
+     * The {@link Weigher} of the entries.
+     */
+    protected final Weigher<? super K, ? super V> weigher;
+
+    private final EvictionListener<? super K, ? super V> evictionListener;
+
+    private final HashMap<K, Node> map = new HashMap<>();
+
+    private Node head;
+
+    private Node tail;
+
+    private long totalWeight;
+
+    private Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * Creates a {@link WeightedLruHashMap}.
+     *
+     * @param maximumWeight the upper limit on the total weight of the entries
+     * @param weigher the {@link Weigher} of the entries
+     */
+    public WeightedLruHashMap(final long maximumWeight, final Weigher<? super K, ? super V> weigher) {
+        this(maximumWeight, weigher, null);
+    }
+
+    /**
+     * Creates a {@link WeightedLruHashMap}.
+     *
+     * @param maximumWeight the upper limit on the total weight of the entries
+     * @param weigher the {@link Weigher} of the entries
+     * @param evictionListener the listener notified of evicted entries, or <code>null</code>
+     */
+    public WeightedLruHashMap(final long maximumWeight, final Weigher<? super K, ? super V> weigher,
+            final EvictionListener<? super K, ? super V> evictionListener) {
+        assertArgument("maximumWeight", maximumWeight >= 0L, "maximumWeight must not be negative.");
+        assertArgumentNotNull("weigher", weigher);
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Returns the upper limit on the total weight of the entries.
+     *
+     * @return the upper limit on the total weight
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Returns the total weight of the entries.
+     *
+     * @return the total weight
+     */
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+        final Node node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        moveToLast(node);
+        return node.value;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final long weight = weigh(key, value);
+        Node node = map.get(key);
+        final V old;
+        if (node != null) {
+            old = node.value;
+            node.value = value;
+            totalWeight += weight - node.weight;
+            node.weight = weight;
+            moveToLast(node);
+        } else {
+            old = null;
+            node = new Node(key, value, weight);
+            map.put(key, node);
+            linkLast(node);
+            totalWeight += weight;
+        }
+        if (weight > maximumWeight) {
+            // discard the entry that can never fit rather than flushing the others
+            evictNode(node);
+        }
+        evictEntries();
+        return old;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final Node node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+        removeNode(node);
+        return node.value;
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+        head = null;
+        tail = null;
+        totalWeight = 0L;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private long weigh(final K key, final V value) {
+        final long weight = weigher.weigh(key, value);
+        assertArgument("value", weight >= 0L, "The weight must not be negative.");
+        return weight;
+    }
+
+    private void evictEntries() {
+        while (totalWeight > maximumWeight && head != null) {
+            evictNode(head);
+        }
+    }
+
+    private void evictNode(final Node node) {
+        removeNode(node);
+        if (evictionListener != null) {
+            evictionListener.evicted(node.key, node.value);
+        }
+    }
+
+    private void removeNode(final Node node) {
+        map.remove(node.key);
+        unlink(node);
+        totalWeight -= node.weight;
+    }
+
+    private void moveToLast(final Node node) {
+        if (tail != node) {
+            unlink(node);
+            linkLast(node);
+        }
+    }
+
+    private void linkLast(final Node node) {
+        node.prev = tail;
+        node.next = null;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+    }
+
+    private void unlink(final Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * An entry with its weight, linked in access order.
+     */
+    private final class Node implements Map.Entry<K, V> {
+
+        final K key;
+
+        V value;
+
+        long weight;
+
+        Node prev;
+
+        Node next;
+
+        Node(final K key, final V value, final long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            final V old = this.value;
+            if (map.get(key) == this) {
+                final long newWeight = weigh(key, value);
+                totalWeight += newWeight - weight;
+                weight = newWeight;
+                this.value = value;
+                if (newWeight > maximumWeight) {
+                    // discard the entry that can never fit rather than flushing the others, as put does
+                    evictNode(this);
+                }
+                evictEntries();
+            } else {
+                this.value = value;
+            }
+            return old;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new Iterator<>() {
+                private Node next = head;
+
+                private Node current;
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    current = next;
+                    next = next.next;
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException();
+                    }
+                    removeNode(current);
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            WeightedLruHashMap.this.clear();
+        }
+    }
+}
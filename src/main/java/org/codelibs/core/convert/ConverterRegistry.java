@@ -0,0 +1,298 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.convert;
+
+import static org.codelibs.core.collection.CollectionsUtil.newConcurrentHashMap;
+import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import org.codelibs.core.exception.InvocationTargetRuntimeException;
+import org.codelibs.core.exception.ParseRuntimeException;
+import org.codelibs.core.lang.ConstructorUtil;
+import org.codelibs.core.lang.MethodUtil;
+import org.codelibs.core.lang.ModifierUtil;
+
+/**
+ * Registry of the {@link TypeConverter}s used to convert property values.
+ * <p>
+ * {@link #getConverter(Class)} returns the converter to a target type. It is created once per type and cached in a {@link ClassValue},
+ * so the type checks, and the lookup of the {@literal String} constructor or the {@literal valueOf(String)} method, are not repeated for
+ * every value. The constructor and the method are invoked through {@link MethodHandle}s.
+ * </p>
+ * <p>
+ * The converter to a target type converts as follows:
+ * </p>
+ * <ul>
+ * <li>A primitive type: {@link NumberConversionUtil#convertPrimitiveWrapper(Class, Object)}.</li>
+ * <li>A {@link Number} type: {@link NumberConversionUtil#convertNumber(Class, Object)}.</li>
+ * <li>A {@link Date} type: the conversion utility of {@link Date}, {@link java.sql.Date}, {@link Time} or {@link Timestamp}.</li>
+ * <li>{@link Boolean}: {@link BooleanConversionUtil#toBoolean(Object)}.</li>
+ * <li>{@link String}: {@link Object#toString()}.</li>
+ * <li>Any other type from a {@link String}: the public constructor taking a {@link String}, or the static {@literal valueOf(String)}
+ * method.</li>
+ * <li>A {@link Calendar} type from a value other than a {@link String}: {@link CalendarConversionUtil#toCalendar(Object)}.</li>
+ * </ul>
+ * <p>
+ * Other values are returned as they are. A converter for a particular source type can be added with
+ * {@link #register(Class, Class, TypeConverter)}; it takes precedence when the class of the value equals the source type. Converters
+ * already obtained, such as those bound by existing {@link org.codelibs.core.beans.PropertyDesc}s, are not affected, so register
+ * converters before the Bean descriptors are created or clear them with
+ * {@link org.codelibs.core.beans.factory.BeanDescFactory#clear()}.
+ * </p>
+ *
+ * @author shinsuke
+ */
+public abstract class ConverterRegistry {
+
+    private static final MethodType CONVERTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /** Registered converters, keyed by target type and then by source type */
+    private static final ConcurrentMap<Class<?>, Map<Class<?>, TypeConverter>> registeredConverters = newConcurrentHashMap();
+
+    private static volatile ClassValue<Entry> entries = newClassValue();
+
+    /**
+     * Do not instantiate.
+     */
+    protected ConverterRegistry() {
+    }
+
+    /**
+     * Returns the converter of any value to the target type.
+     *
+     * @param targetType
+     *            the target type. Must not be {@literal null}
+     * @return the converter
+     */
+    public static TypeConverter getConverter(final Class<?> targetType) {
+        assertArgumentNotNull("targetType", targetType);
+
+        return entries.get(targetType).converter;
+    }
+
+    /**
+     * Returns the converter of a value of the source type to the target type.
+     *
+     * @param sourceType
+     *            the source type. Must not be {@literal null}
+     * @param targetType
+     *            the target type. Must not be {@literal null}
+     * @return the converter
+     */
+    public static TypeConverter getConverter(final Class<?> sourceType, final Class<?> targetType) {
+        assertArgumentNotNull("sourceType", sourceType);
+        assertArgumentNotNull("targetType", targetType);
+
+        final Entry entry = entries.get(targetType);
+        final TypeConverter converter = entry.registered.get(sourceType);
+        return converter != null ? converter : entry.converter;
+    }
+
+    /**
+     * Registers the converter of a value of the source type to the target type.
+     *
+     * @param sourceType
+     *            the source type. Must not be {@literal null}
+     * @param targetType
+     *            the target type. Must not be {@literal null}
+     * @param converter
+     *            the converter. Must not be {@literal null}
+     */
+    public static synchronized void register(final Class<?> sourceType, final Class<?> targetType, final TypeConverter converter) {
+        assertArgumentNotNull("sourceType", sourceType);
+        assertArgumentNotNull("targetType", targetType);
+        assertArgumentNotNull("converter", converter);
+
+        registeredConverters.computeIfAbsent(targetType, k -> newConcurrentHashMap()).put(sourceType, converter);
+        entries = newClassValue();
+    }
+
+    /**
+     * Removes the registered converters and discards the cached converters.
+     */
+    public static synchronized void clear() {
+        registeredConverters.clear();
+        entries = newClassValue();
+    }
+
+    private static ClassValue<Entry> newClassValue() {
+        return new ClassValue<>() {
+            @Override
+            protected Entry computeValue(final Class<?> type) {
+                return createEntry(type);
+            }
+        };
+    }
+
+    private static Entry createEntry(final Class<?> targetType) {
+        final TypeConverter converter = createConverter(targetType);
+        final Map<Class<?>, TypeConverter> registered = registeredConverters.get(targetType);
+        if (registered == null || registered.isEmpty()) {
+            return new Entry(converter, Collections.emptyMap());
+        }
+        final Map<Class<?>, TypeConverter> snapshot = Map.copyOf(registered);
+        return new Entry(value -> {
+            if (value != null) {
+                final TypeConverter c = snapshot.get(value.getClass());
+                if (c != null) {
+                    return c.convert(value);
+                }
+            }
+            return converter.convert(value);
+        }, snapshot);
+    }
+
+    /**
+     * Creates the converter of any value to the target type.
+     *
+     * @param targetType
+     *            the target type
+     * @return the converter
+     */
+    protected static TypeConverter createConverter(final Class<?> targetType) {
+        if (targetType.isPrimitive()) {
+            return NumberConversionUtil.getPrimitiveWrapperConverter(targetType);
+        } else if (Number.class.isAssignableFrom(targetType)) {
+            return NumberConversionUtil.getNumberConverter(targetType);
+        } else if (Date.class.isAssignableFrom(targetType)) {
+            return createDateConverter(targetType);
+        } else if (Boolean.class.isAssignableFrom(targetType)) {
+            return BooleanConversionUtil::toBoolean;
+        } else if (String.class == targetType) {
+            return value -> value != null && value.getClass() != String.class ? value.toString() : value;
+        }
+        final TypeConverter stringConverter = createStringConverter(targetType);
+        if (Calendar.class.isAssignableFrom(targetType)) {
+            return value -> value instanceof String ? stringConverter.convert(value) : CalendarConversionUtil.toCalendar(value);
+        }
+        if (stringConverter == TypeConverter.IDENTITY) {
+            return TypeConverter.IDENTITY;
+        }
+        return value -> value instanceof String ? stringConverter.convert(value) : value;
+    }
+
+    private static TypeConverter createDateConverter(final Class<?> targetType) {
+        if (targetType == Date.class) {
+            return value -> {
+                try {
+                    return TimestampConversionUtil.toDate(value);
+                } catch (final ParseRuntimeException ex) {
+                    try {
+                        return DateConversionUtil.toDate(value);
+                    } catch (final ParseRuntimeException ex2) {
+                        return TimeConversionUtil.toDate(value);
+                    }
+                }
+            };
+        } else if (targetType == Timestamp.class) {
+            return TimestampConversionUtil::toSqlTimestamp;
+        } else if (targetType == java.sql.Date.class) {
+            return DateConversionUtil::toSqlDate;
+        } else if (targetType == Time.class) {
+            return TimeConversionUtil::toSqlTime;
+        }
+        return TypeConverter.IDENTITY;
+    }
+
+    /**
+     * Creates the converter of a {@link String} to the target type, which uses the public constructor taking a {@link String}, or the
+     * static {@literal valueOf(String)} method.
+     *
+     * @param targetType
+     *            the target type
+     * @return the converter, or {@link TypeConverter#IDENTITY} if the target type has neither
+     */
+    private static TypeConverter createStringConverter(final Class<?> targetType) {
+        for (final Constructor<?> con : targetType.getConstructors()) {
+            if (con.getParameterTypes().length == 1 && con.getParameterTypes()[0].equals(String.class)) {
+                return createConstructorConverter(con);
+            }
+        }
+        for (final Method method : targetType.getMethods()) {
+            if (method.isBridge() || method.isSynthetic()) {
+                continue;
+            }
+            if (ModifierUtil.isStatic(method.getModifiers()) && method.getName().equals("valueOf") && method.getParameterTypes().length == 1
+                    && method.getParameterTypes()[0].equals(String.class)) {
+                return createValueOfConverter(method);
+            }
+        }
+        return TypeConverter.IDENTITY;
+    }
+
+    private static TypeConverter createConstructorConverter(final Constructor<?> constructor) {
+        final MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflectConstructor(constructor).asType(CONVERTER_TYPE);
+        } catch (final IllegalAccessException e) {
+            return value -> ConstructorUtil.newInstance(constructor, value);
+        }
+        return value -> {
+            try {
+                return handle.invokeExact(value);
+            } catch (final Throwable t) {
+                // same as the InvocationTargetException thrown by Constructor#newInstance
+                throw new InvocationTargetRuntimeException(constructor.getDeclaringClass(), new InvocationTargetException(t));
+            }
+        };
+    }
+
+    private static TypeConverter createValueOfConverter(final Method method) {
+        final MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method).asType(CONVERTER_TYPE);
+        } catch (final IllegalAccessException e) {
+            return value -> MethodUtil.invoke(method, null, value);
+        }
+        return value -> {
+            try {
+                return handle.invokeExact(value);
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable t) {
+                throw new InvocationTargetRuntimeException(method.getDeclaringClass(), new InvocationTargetException(t));
+            }
+        };
+    }
+
+    /**
+     * The converter to a target type with the converters registered for it.
+     */
+    private static final class Entry {
+
+        final TypeConverter converter;
+
+        final Map<Class<?>, TypeConverter> registered;
+
+        Entry(final TypeConverter converter, final Map<Class<?>, TypeConverter> registered) {
+            this.converter = converter;
+            this.registered = registered;
+        }
+    }
+}
@@ -20,7 +20,6 @@ import static java.text.DateFormat.LONG;
 import static java.text.DateFormat.MEDIUM;
 import static java.text.DateFormat.SHORT;
 import static java.text.DateFormat.getDateInstance;
-import static org.codelibs.core.collection.MultiIterator.iterable;
 import static org.codelibs.core.lang.StringUtil.isEmpty;
 import static org.codelibs.core.lang.StringUtil.isNotEmpty;
 import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
@@ -252,8 +251,7 @@ public abstract class DateConversionUtil {
             return null;
         }
         if (isNotEmpty(pattern)) {
-            final SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
-            final Date date = toDate(str, format);
+            final Date date = DateFormatCache.parse(str, pattern, locale);
             if (date != null) {
                 return date;
             }
@@ -325,8 +323,7 @@ public abstract class DateConversionUtil {
             return null;
         }
         if (isNotEmpty(pattern)) {
-            final SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
-            final Date date = toDate(str, format);
+            final Date date = DateFormatCache.parse(str, pattern, locale);
             if (date != null) {
                 return toCalendar(date, locale);
             }
@@ -401,8 +398,7 @@ public abstract class DateConversionUtil {
             return null;
         }
         if (isNotEmpty(pattern)) {
-            final SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
-            final Date date = toDate(str, format);
+            final Date date = DateFormatCache.parse(str, pattern, locale);
             if (date != null) {
                 return new java.sql.Date(date.getTime());
             }
@@ -425,18 +421,8 @@ public abstract class DateConversionUtil {
      * @param locale the locale
      * @return the converted {@link Date}
      */
-    @SuppressWarnings("unchecked")
     protected static Date toDate(final String str, final Locale locale) {
-        for (final DateFormat format : iterable(new DateFormatIterator(locale), new PlainDateFormatIterator(str, locale))) {
-            if (format == null) {
-                continue;
-            }
-            final Date date = toDate(str, format);
-            if (date != null) {
-                return date;
-            }
-        }
-        return null;
+        return DateFormatCache.parse(str, locale, "date", STYLES, DateFormat::getDateInstance, DateConversionUtil::toPlainPattern);
     }
 
     /**
@@ -487,6 +473,11 @@ public abstract class DateConversionUtil {
      * @return the converted {@link java.sql.Date}
      */
     protected static java.sql.Date toSqlDateJdbcEscape(final String str) {
+        // java.sql.Date.valueOf requires "yyyy-[m]m-[d]d"; reject other strings without the cost of an exception
+        final int firstDash = str == null ? -1 : str.indexOf('-');
+        if (firstDash != 4 || str.indexOf('-', firstDash + 1) == -1) {
+            return null;
+        }
         try {
             return java.sql.Date.valueOf(str);
         } catch (final IllegalArgumentException ex) {
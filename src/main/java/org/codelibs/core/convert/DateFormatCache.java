@@ -0,0 +1,278 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.convert;
+
+import static org.codelibs.core.collection.CollectionsUtil.newConcurrentHashMap;
+
+import java.text.DateFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.UnaryOperator;
+
+import org.codelibs.core.collection.ConcurrentLruHashMap;
+
+/**
+ * Cache of the {@link SimpleDateFormat}s used by the date and time conversion utilities.
+ * <p>
+ * Building a {@link SimpleDateFormat} looks up the locale data and compiles the pattern, which costs
+ * much more than parsing a short string. The formats are therefore built once per pattern and
+ * locale and kept as prototypes that are never used directly; each caller gets a clone, because
+ * {@link SimpleDateFormat} is not thread-safe. The clone uses the current default time zone, as a
+ * newly created format would.
+ * </p>
+ * <p>
+ * The patterns of the {@link DateFormat} styles of each locale are cached as well, so trying the
+ * candidate formats of a locale does not go through the locale service providers every time.
+ * </p>
+ * <p>
+ * {@link #parse(String, String, Locale)} first checks that the string contains every literal
+ * character of the pattern, such as the {@literal /} of {@literal yyyy/MM/dd}. A
+ * {@link SimpleDateFormat} only matches literals exactly, so a candidate that fails the check is
+ * rejected without cloning the format or parsing.
+ * </p>
+ *
+ * @author shinsuke
+ */
+final class DateFormatCache {
+
+    /** Upper limit on the number of cached formats */
+    static final int CACHE_SIZE = 256;
+
+    private static final ConcurrentLruHashMap<Key, Entry> entries = new ConcurrentLruHashMap<>(CACHE_SIZE);
+
+    private static final ConcurrentMap<Key, String[]> stylePatterns = newConcurrentHashMap();
+
+    private DateFormatCache() {
+    }
+
+    /**
+     * Returns a {@link SimpleDateFormat} for the pattern and the locale, owned by the caller.
+     *
+     * @param pattern the pattern string
+     * @param locale the locale
+     * @return the {@link SimpleDateFormat}
+     */
+    static SimpleDateFormat getFormat(final String pattern, final Locale locale) {
+        return getEntry(pattern, locale).newFormat();
+    }
+
+    /**
+     * Parses the whole string with the pattern and the locale.
+     *
+     * @param str the string
+     * @param pattern the pattern string
+     * @param locale the locale
+     * @return the parsed {@link Date}, or {@literal null} if the string does not match the pattern
+     */
+    static Date parse(final String str, final String pattern, final Locale locale) {
+        final Entry entry = getEntry(pattern, locale);
+        if (!entry.mayMatch(str)) {
+            return null;
+        }
+        return parse(str, entry.newFormat());
+    }
+
+    /**
+     * Parses the whole string with the {@link DateFormat} styles of the locale, and then with the
+     * same patterns without delimiters whose length equals the length of the string.
+     *
+     * @param str the string
+     * @param locale the locale
+     * @param kind the name of the kind of the formats, which identifies the styles and the factory
+     * @param styles the styles
+     * @param factory the function that creates the {@link DateFormat} of a style and a locale
+     * @param plainConverter the function that removes the delimiters from a pattern
+     * @return the parsed {@link Date}, or {@literal null} if no format matches
+     * @see #getStylePatterns(String, int[], Locale, BiFunction, UnaryOperator)
+     */
+    static Date parse(final String str, final Locale locale, final String kind, final int[] styles,
+            final BiFunction<Integer, Locale, DateFormat> factory, final UnaryOperator<String> plainConverter) {
+        final String[] patterns = getStylePatterns(kind, styles, locale, factory, plainConverter);
+        for (int i = 0; i < styles.length; ++i) {
+            final Date date = patterns[i] != null ? parse(str, patterns[i], locale) : parse(str, factory.apply(styles[i], locale));
+            if (date != null) {
+                return date;
+            }
+        }
+        for (int i = styles.length; i < patterns.length; ++i) {
+            final String pattern = patterns[i];
+            if (pattern == null || pattern.length() != str.length()) {
+                continue;
+            }
+            final Date date = parse(str, pattern, Locale.getDefault(Locale.Category.FORMAT));
+            if (date != null) {
+                return date;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the whole string with the format.
+     *
+     * @param str the string
+     * @param format the format
+     * @return the parsed {@link Date}, or {@literal null} if the format does not consume the whole string
+     */
+    static Date parse(final String str, final DateFormat format) {
+        final ParsePosition pos = new ParsePosition(0);
+        final Date date = format.parse(str, pos);
+        if (date == null || pos.getIndex() == 0 || pos.getIndex() < str.length()) {
+            return null;
+        }
+        return date;
+    }
+
+    /**
+     * Returns the characters that the pattern requires literally, excluding whitespace.
+     *
+     * @param pattern the pattern string
+     * @return the literal characters
+     */
+    static String getLiterals(final String pattern) {
+        final StringBuilder buf = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); ++i) {
+            final char ch = pattern.charAt(i);
+            if (ch == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    buf.append(ch);
+                    ++i;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (quoted || !(ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z')) {
+                if (!Character.isWhitespace(ch) && buf.indexOf(String.valueOf(ch)) == -1) {
+                    buf.append(ch);
+                }
+            }
+        }
+        return buf.toString();
+    }
+
+    private static Entry getEntry(final String pattern, final Locale locale) {
+        final Key key = new Key(pattern, locale);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(new SimpleDateFormat(pattern, locale), getLiterals(pattern));
+            final Entry existing = entries.putIfAbsent(key, entry);
+            if (existing != null) {
+                entry = existing;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the patterns of the {@link DateFormat} styles of the locale, followed by the same patterns without delimiters.
+     *
+     * @param kind the name of the kind of the formats, such as {@literal "date"}, which identifies the styles and the factory
+     * @param styles the styles
+     * @param locale the locale
+     * @param factory the function that creates the {@link DateFormat} of a style and a locale
+     * @param plainConverter the function that removes the delimiters from a pattern
+     * @return an array of twice the length of the styles, holding the patterns in the order of the styles and then the patterns without delimiters;
+     *         the elements for a style whose format is not a {@link SimpleDateFormat} are {@literal null}
+     */
+    static String[] getStylePatterns(final String kind, final int[] styles, final Locale locale,
+            final BiFunction<Integer, Locale, DateFormat> factory, final UnaryOperator<String> plainConverter) {
+        final Key key = new Key(kind, locale);
+        String[] patterns = stylePatterns.get(key);
+        if (patterns == null) {
+            patterns = new String[styles.length * 2];
+            for (int i = 0; i < styles.length; ++i) {
+                final DateFormat format = factory.apply(styles[i], locale);
+                if (format instanceof SimpleDateFormat) {
+                    patterns[i] = ((SimpleDateFormat) format).toPattern();
+                    patterns[styles.length + i] = plainConverter.apply(patterns[i]);
+                }
+            }
+            final String[] existing = stylePatterns.putIfAbsent(key, patterns);
+            if (existing != null) {
+                patterns = existing;
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * A prototype format with the literal characters of its pattern.
+     */
+    private static final class Entry {
+
+        private final SimpleDateFormat prototype;
+
+        private final String literals;
+
+        Entry(final SimpleDateFormat prototype, final String literals) {
+            this.prototype = prototype;
+            this.literals = literals;
+        }
+
+        boolean mayMatch(final String str) {
+            for (int i = 0; i < literals.length(); ++i) {
+                if (str.indexOf(literals.charAt(i)) == -1) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        SimpleDateFormat newFormat() {
+            final SimpleDateFormat format = (SimpleDateFormat) prototype.clone();
+            format.setTimeZone(TimeZone.getDefault());
+            return format;
+        }
+    }
+
+    /**
+     * Key made of a pattern or a kind and a locale.
+     */
+    private static final class Key {
+
+        private final String name;
+
+        private final Locale locale;
+
+        Key(final String name, final Locale locale) {
+            this.name = name;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return name.equals(other.name) && Objects.equals(locale, other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + Objects.hashCode(locale);
+        }
+    }
+}
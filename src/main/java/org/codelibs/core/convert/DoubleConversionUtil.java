@@ -18,7 +18,7 @@ package org.codelibs.core.convert;
 import java.text.SimpleDateFormat;
 
 import org.codelibs.core.lang.StringUtil;
-import org.codelibs.core.text.DecimalFormatUtil;
+import org.codelibs.core.misc.LocaleUtil;
 
 /**
  * Utility class for conversions related to {@link Double}.
@@ -76,7 +76,7 @@ public abstract class DoubleConversionUtil {
         if (StringUtil.isEmpty(s)) {
             return null;
         }
-        return Double.valueOf(DecimalFormatUtil.normalize(s));
+        return Double.valueOf(NumberConversionUtil.parseDouble(s, LocaleUtil.getDefault()));
     }
 
     /**
@@ -120,7 +120,7 @@ public abstract class DoubleConversionUtil {
         if (StringUtil.isEmpty(s)) {
             return 0;
         }
-        return Double.parseDouble(DecimalFormatUtil.normalize(s));
+        return NumberConversionUtil.parseDouble(s, LocaleUtil.getDefault());
     }
 
 }
@@ -18,7 +18,7 @@ package org.codelibs.core.convert;
 import java.text.SimpleDateFormat;
 
 import org.codelibs.core.lang.StringUtil;
-import org.codelibs.core.text.DecimalFormatUtil;
+import org.codelibs.core.misc.LocaleUtil;
 
 /**
  * Utility class for conversions related to {@link Integer}.
@@ -69,7 +69,7 @@ public abstract class IntegerConversionUtil {
         if (StringUtil.isEmpty(s)) {
             return null;
         }
-        return Integer.valueOf(DecimalFormatUtil.normalize(s));
+        return Integer.valueOf(NumberConversionUtil.parseInt(s, LocaleUtil.getDefault()));
     }
 
     /**
@@ -107,7 +107,7 @@ public abstract class IntegerConversionUtil {
         if (StringUtil.isEmpty(s)) {
             return 0;
         }
-        return Integer.parseInt(DecimalFormatUtil.normalize(s));
+        return NumberConversionUtil.parseInt(s, LocaleUtil.getDefault());
     }
 
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.convert;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Single-pass parser for the common fixed-width ISO-8601 forms used by {@link TemporalConversionUtil}.
+ * <p>
+ * The following forms are recognized, where the fraction of a second has one to nine digits and the offset is {@literal Z},
+ * {@literal +HH:MM} or {@literal +HH:MM:SS}:
+ * </p>
+ * <ul>
+ * <li>{@literal yyyy-MM-dd}</li>
+ * <li>{@literal HH:mm}, {@literal HH:mm:ss} and {@literal HH:mm:ss.SSSSSSSSS}</li>
+ * <li>a date and a time separated by {@literal T}</li>
+ * <li>a date and a time followed by an offset</li>
+ * </ul>
+ * <p>
+ * The fields are read directly from the string without a {@link DateTimeFormatter}, so no intermediate objects are created. Every method
+ * returns {@literal null}, rather than throwing an exception, for a string that is not in one of these forms or whose fields are out of
+ * range. Such strings, for example a year with more than four digits or a leap second, are left to the {@code parse} methods of the
+ * {@code java.time} types, which accept them or report the error.
+ * </p>
+ *
+ * @author shinsuke
+ */
+final class IsoTemporalParser {
+
+    private static final int DATE_LENGTH = 10;
+
+    private static final int MIN_TIME_LENGTH = 5;
+
+    private IsoTemporalParser() {
+    }
+
+    /**
+     * Parses a {@literal yyyy-MM-dd} string.
+     *
+     * @param str the string
+     * @return the {@link LocalDate}, or {@literal null} if the string is not in the form
+     */
+    static LocalDate parseLocalDate(final String str) {
+        if (str.length() != DATE_LENGTH) {
+            return null;
+        }
+        return parseDate(str, 0);
+    }
+
+    /**
+     * Parses a {@literal HH:mm[:ss[.S...]]} string.
+     *
+     * @param str the string
+     * @return the {@link LocalTime}, or {@literal null} if the string is not in the form
+     */
+    static LocalTime parseLocalTime(final String str) {
+        return parseTime(str, 0, str.length());
+    }
+
+    /**
+     * Parses a date and a time separated by {@literal T}.
+     *
+     * @param str the string
+     * @return the {@link LocalDateTime}, or {@literal null} if the string is not in the form
+     */
+    static LocalDateTime parseLocalDateTime(final String str) {
+        return parseDateTime(str, str.length());
+    }
+
+    /**
+     * Parses a date and a time separated by {@literal T}, followed by an offset.
+     *
+     * @param str the string
+     * @return the {@link OffsetDateTime}, or {@literal null} if the string is not in the form
+     */
+    static OffsetDateTime parseOffsetDateTime(final String str) {
+        final int offsetIndex = indexOfOffset(str);
+        if (offsetIndex < 0) {
+            return null;
+        }
+        final LocalDateTime dateTime = parseDateTime(str, offsetIndex);
+        if (dateTime == null) {
+            return null;
+        }
+        final ZoneOffset offset = parseOffset(str, offsetIndex);
+        if (offset == null) {
+            return null;
+        }
+        return OffsetDateTime.of(dateTime, offset);
+    }
+
+    private static LocalDateTime parseDateTime(final String str, final int end) {
+        if (end < DATE_LENGTH + 1 + MIN_TIME_LENGTH) {
+            return null;
+        }
+        final char separator = str.charAt(DATE_LENGTH);
+        if (separator != 'T' && separator != 't') {
+            return null;
+        }
+        final LocalDate date = parseDate(str, 0);
+        if (date == null) {
+            return null;
+        }
+        final LocalTime time = parseTime(str, DATE_LENGTH + 1, end);
+        if (time == null) {
+            return null;
+        }
+        return LocalDateTime.of(date, time);
+    }
+
+    private static LocalDate parseDate(final String str, final int pos) {
+        if (str.charAt(pos + 4) != '-' || str.charAt(pos + 7) != '-') {
+            return null;
+        }
+        final int year = parseDigits(str, pos, 4);
+        final int month = parseDigits(str, pos + 5, 2);
+        final int day = parseDigits(str, pos + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private static LocalTime parseTime(final String str, final int pos, final int end) {
+        final int length = end - pos;
+        if (length < MIN_TIME_LENGTH || str.charAt(pos + 2) != ':') {
+            return null;
+        }
+        final int hour = parseDigits(str, pos, 2);
+        final int minute = parseDigits(str, pos + 3, 2);
+        int second = 0;
+        int nano = 0;
+        if (length > MIN_TIME_LENGTH) {
+            if (length < 8 || str.charAt(pos + 5) != ':') {
+                return null;
+            }
+            second = parseDigits(str, pos + 6, 2);
+            if (length > 8) {
+                // one to nine digits of the fraction
+                if (length == 9 || length > 18 || str.charAt(pos + 8) != '.') {
+                    return null;
+                }
+                for (int i = pos + 9; i < end; ++i) {
+                    final int digit = str.charAt(i) - '0';
+                    if (digit < 0 || digit > 9) {
+                        return null;
+                    }
+                    nano = nano * 10 + digit;
+                }
+                for (int i = length - 9; i < 9; ++i) {
+                    nano *= 10;
+                }
+            }
+        }
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+        return LocalTime.of(hour, minute, second, nano);
+    }
+
+    private static int indexOfOffset(final String str) {
+        for (int i = DATE_LENGTH + 1 + MIN_TIME_LENGTH; i < str.length(); ++i) {
+            final char ch = str.charAt(i);
+            if (ch == 'Z' || ch == 'z' || ch == '+' || ch == '-') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ZoneOffset parseOffset(final String str, final int pos) {
+        final int length = str.length() - pos;
+        final char sign = str.charAt(pos);
+        if (sign == 'Z' || sign == 'z') {
+            return length == 1 ? ZoneOffset.UTC : null;
+        }
+        if (length != 6 && length != 9 || str.charAt(pos + 3) != ':') {
+            return null;
+        }
+        final int hours = parseDigits(str, pos + 1, 2);
+        final int minutes = parseDigits(str, pos + 4, 2);
+        int seconds = 0;
+        if (length == 9) {
+            if (str.charAt(pos + 6) != ':') {
+                return null;
+            }
+            seconds = parseDigits(str, pos + 7, 2);
+        }
+        if (hours < 0 || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59
+                || hours * 3600 + minutes * 60 + seconds > ZoneOffset.MAX.getTotalSeconds()) {
+            return null;
+        }
+        final int totalSeconds = hours * 3600 + minutes * 60 + seconds;
+        return ZoneOffset.ofTotalSeconds(sign == '-' ? -totalSeconds : totalSeconds);
+    }
+
+    private static int parseDigits(final String str, final int pos, final int count) {
+        int value = 0;
+        for (int i = pos; i < pos + count; ++i) {
+            final int digit = str.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
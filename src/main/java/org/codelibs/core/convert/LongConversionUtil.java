@@ -18,7 +18,7 @@ package org.codelibs.core.convert;
 import java.text.SimpleDateFormat;
 
 import org.codelibs.core.lang.StringUtil;
-import org.codelibs.core.text.DecimalFormatUtil;
+import org.codelibs.core.misc.LocaleUtil;
 
 /**
  * Utility class for conversions to {@link Long}.
@@ -69,7 +69,7 @@ public abstract class LongConversionUtil {
         if (StringUtil.isEmpty(s)) {
             return null;
         }
-        return Long.valueOf(DecimalFormatUtil.normalize(s));
+        return Long.valueOf(NumberConversionUtil.parseLong(s, LocaleUtil.getDefault()));
     }
 
     /**
@@ -107,7 +107,7 @@ public abstract class LongConversionUtil {
         if (StringUtil.isEmpty(s)) {
             return 0;
         }
-        return Long.parseLong(DecimalFormatUtil.normalize(s));
+        return NumberConversionUtil.parseLong(s, LocaleUtil.getDefault());
     }
 
 }
@@ -15,12 +15,16 @@
  */
 package org.codelibs.core.convert;
 
+import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
+
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.text.DecimalFormatSymbols;
 import java.util.Locale;
 
 import org.codelibs.core.lang.StringUtil;
+import org.codelibs.core.misc.LocaleUtil;
+import org.codelibs.core.text.DecimalFormatUtil;
 import org.codelibs.core.text.DecimalFormatSymbolsUtil;
 
 /**
@@ -30,6 +34,29 @@ import org.codelibs.core.text.DecimalFormatSymbolsUtil;
  */
 public abstract class NumberConversionUtil {
 
+    /** Largest mantissa that a {@literal double} represents exactly */
+    private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+
+    /** Powers of ten that a {@literal double} represents exactly */
+    private static final double[] EXACT_POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14,
+            1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    /** Converters to the {@link Number} types, created on first use */
+    private static final ClassValue<TypeConverter> numberConverters = new ClassValue<>() {
+        @Override
+        protected TypeConverter computeValue(final Class<?> type) {
+            return createNumberConverter(type);
+        }
+    };
+
+    /** Converters to the wrapper types of the primitive types, created on first use */
+    private static final ClassValue<TypeConverter> primitiveWrapperConverters = new ClassValue<>() {
+        @Override
+        protected TypeConverter computeValue(final Class<?> type) {
+            return createPrimitiveWrapperConverter(type);
+        }
+    };
+
     /**
      * Do not instantiate.
      */
@@ -46,24 +73,7 @@ public abstract class NumberConversionUtil {
      * @return {@link Number} converted to {@literal type}
      */
     public static Object convertNumber(final Class<?> type, final Object o) {
-        if (type == Integer.class) {
-            return IntegerConversionUtil.toInteger(o);
-        } else if (type == BigDecimal.class) {
-            return BigDecimalConversionUtil.toBigDecimal(o);
-        } else if (type == Double.class) {
-            return DoubleConversionUtil.toDouble(o);
-        } else if (type == Long.class) {
-            return LongConversionUtil.toLong(o);
-        } else if (type == Float.class) {
-            return FloatConversionUtil.toFloat(o);
-        } else if (type == Short.class) {
-            return ShortConversionUtil.toShort(o);
-        } else if (type == BigInteger.class) {
-            return BigIntegerConversionUtil.toBigInteger(o);
-        } else if (type == Byte.class) {
-            return ByteConversionUtil.toByte(o);
-        }
-        return o;
+        return getNumberConverter(type).convert(o);
     }
 
     /**
@@ -76,50 +86,111 @@ public abstract class NumberConversionUtil {
      * @return Object converted to the wrapper type corresponding to the specified primitive type
      */
     public static Object convertPrimitiveWrapper(final Class<?> type, final Object o) {
+        return getPrimitiveWrapperConverter(type).convert(o);
+    }
+
+    /**
+     * Returns the converter used by {@link #convertNumber(Class, Object)}.
+     *
+     * @param type
+     *            Target type
+     * @return the converter, which returns the source object as it is if {@literal type} is not a supported {@link Number} type
+     */
+    public static TypeConverter getNumberConverter(final Class<?> type) {
+        return numberConverters.get(type);
+    }
+
+    /**
+     * Returns the converter used by {@link #convertPrimitiveWrapper(Class, Object)}.
+     *
+     * @param type
+     *            Primitive type
+     * @return the converter, which returns the source object as it is if {@literal type} is not a supported primitive type
+     */
+    public static TypeConverter getPrimitiveWrapperConverter(final Class<?> type) {
+        return primitiveWrapperConverters.get(type);
+    }
+
+    private static TypeConverter createNumberConverter(final Class<?> type) {
+        if (type == Integer.class) {
+            return IntegerConversionUtil::toInteger;
+        } else if (type == BigDecimal.class) {
+            return BigDecimalConversionUtil::toBigDecimal;
+        } else if (type == Double.class) {
+            return DoubleConversionUtil::toDouble;
+        } else if (type == Long.class) {
+            return LongConversionUtil::toLong;
+        } else if (type == Float.class) {
+            return FloatConversionUtil::toFloat;
+        } else if (type == Short.class) {
+            return ShortConversionUtil::toShort;
+        } else if (type == BigInteger.class) {
+            return BigIntegerConversionUtil::toBigInteger;
+        } else if (type == Byte.class) {
+            return ByteConversionUtil::toByte;
+        }
+        return TypeConverter.IDENTITY;
+    }
+
+    private static TypeConverter createPrimitiveWrapperConverter(final Class<?> type) {
         if (type == int.class) {
-            final Integer i = IntegerConversionUtil.toInteger(o);
-            if (i != null) {
-                return i;
-            }
-            return Integer.valueOf(0);
+            return o -> {
+                final Integer i = IntegerConversionUtil.toInteger(o);
+                if (i != null) {
+                    return i;
+                }
+                return Integer.valueOf(0);
+            };
         } else if (type == double.class) {
-            final Double d = DoubleConversionUtil.toDouble(o);
-            if (d != null) {
-                return d;
-            }
-            return Double.valueOf(0);
+            return o -> {
+                final Double d = DoubleConversionUtil.toDouble(o);
+                if (d != null) {
+                    return d;
+                }
+                return Double.valueOf(0);
+            };
         } else if (type == long.class) {
-            final Long l = LongConversionUtil.toLong(o);
-            if (l != null) {
-                return l;
-            }
-            return Long.valueOf(0);
+            return o -> {
+                final Long l = LongConversionUtil.toLong(o);
+                if (l != null) {
+                    return l;
+                }
+                return Long.valueOf(0);
+            };
         } else if (type == float.class) {
-            final Float f = FloatConversionUtil.toFloat(o);
-            if (f != null) {
-                return f;
-            }
-            return Float.valueOf(0);
+            return o -> {
+                final Float f = FloatConversionUtil.toFloat(o);
+                if (f != null) {
+                    return f;
+                }
+                return Float.valueOf(0);
+            };
         } else if (type == short.class) {
-            final Short s = ShortConversionUtil.toShort(o);
-            if (s != null) {
-                return s;
-            }
-            return Short.valueOf((short) 0);
+            return o -> {
+                final Short s = ShortConversionUtil.toShort(o);
+                if (s != null) {
+                    return s;
+                }
+                return Short.valueOf((short) 0);
+            };
         } else if (type == boolean.class) {
-            final Boolean b = BooleanConversionUtil.toBoolean(o);
-            if (b != null) {
-                return b;
-            }
-            return Boolean.FALSE;
+            return o -> {
+                final Boolean b = BooleanConversionUtil.toBoolean(o);
+                if (b != null) {
+                    return b;
+                }
+                return Boolean.FALSE;
+            };
         } else if (type == byte.class) {
-            final Byte b = ByteConversionUtil.toByte(o);
-            if (b != null) {
-                return b;
-            }
-            return Byte.valueOf((byte) 0);
+            return o -> {
+                final Byte b = ByteConversionUtil.toByte(o);
+                if (b != null) {
+                    return b;
+                }
+                return Byte.valueOf((byte) 0);
+            };
         }
-        return o;
+        return TypeConverter.IDENTITY;
     }
 
     /**
@@ -163,6 +234,154 @@ public abstract class NumberConversionUtil {
         return Character.toString(symbol.getDecimalSeparator());
     }
 
+    /**
+     * Parses the characters as an {@literal int}, skipping the grouping separators of the locale.
+     * <p>
+     * The result is the same as {@link Integer#parseInt(String)} of the characters normalized by
+     * {@link DecimalFormatUtil#normalize(String, Locale)}, without creating the normalized string.
+     * </p>
+     *
+     * @param cs
+     *            Characters to parse. Must not be {@literal null}
+     * @param locale
+     *            Locale, or {@literal null} for the default locale
+     * @return Parsed value
+     * @throws NumberFormatException
+     *             if the characters do not represent an {@literal int}
+     */
+    public static int parseInt(final CharSequence cs, final Locale locale) {
+        assertArgumentNotNull("cs", cs);
+
+        return (int) parseLong(cs, getGroupingSeparator(locale), Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Parses the characters as a {@literal long}, skipping the grouping separators of the locale.
+     * <p>
+     * The result is the same as {@link Long#parseLong(String)} of the characters normalized by
+     * {@link DecimalFormatUtil#normalize(String, Locale)}, without creating the normalized string.
+     * </p>
+     *
+     * @param cs
+     *            Characters to parse. Must not be {@literal null}
+     * @param locale
+     *            Locale, or {@literal null} for the default locale
+     * @return Parsed value
+     * @throws NumberFormatException
+     *             if the characters do not represent a {@literal long}
+     */
+    public static long parseLong(final CharSequence cs, final Locale locale) {
+        assertArgumentNotNull("cs", cs);
+
+        return parseLong(cs, getGroupingSeparator(locale), Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Parses the characters as a {@literal double}, skipping the grouping separators of the locale.
+     * <p>
+     * The result is the same as {@link Double#parseDouble(String)} of the characters normalized by
+     * {@link DecimalFormatUtil#normalize(String, Locale)}. Plain decimal numbers of up to 15 digits are computed without creating the
+     * normalized string; other forms, such as exponents, fall back to {@link Double#parseDouble(String)}.
+     * </p>
+     *
+     * @param cs
+     *            Characters to parse. Must not be {@literal null}
+     * @param locale
+     *            Locale, or {@literal null} for the default locale
+     * @return Parsed value
+     * @throws NumberFormatException
+     *             if the characters do not represent a {@literal double}
+     */
+    public static double parseDouble(final CharSequence cs, final Locale locale) {
+        assertArgumentNotNull("cs", cs);
+
+        final Locale l = locale != null ? locale : LocaleUtil.getDefault();
+        final DecimalScanner scanner = new DecimalScanner();
+        if (scanner.scan(cs, DecimalFormatSymbolsUtil.getGroupingSeparator(l), DecimalFormatSymbolsUtil.getDecimalSeparator(l))
+                && scanner.unscaledValue <= MAX_EXACT_DOUBLE_MANTISSA && scanner.scale < EXACT_POWERS_OF_TEN.length) {
+            // both operands are exact, so the quotient is correctly rounded as Double#parseDouble does
+            final double value = scanner.unscaledValue / EXACT_POWERS_OF_TEN[scanner.scale];
+            return scanner.negative ? -value : value;
+        }
+        return Double.parseDouble(DecimalFormatUtil.normalize(cs.toString(), l));
+    }
+
+    /**
+     * Parses the characters as a {@link BigDecimal}, skipping the grouping separators of the locale.
+     * <p>
+     * The result is the same as {@link BigDecimal#BigDecimal(String)} of the characters normalized by
+     * {@link DecimalFormatUtil#normalize(String, Locale)}. Plain decimal numbers of up to 18 digits are created from their unscaled value
+     * without creating the normalized string; other forms, such as exponents, fall back to {@link BigDecimal#BigDecimal(String)}.
+     * </p>
+     *
+     * @param cs
+     *            Characters to parse. Must not be {@literal null}
+     * @param locale
+     *            Locale, or {@literal null} for the default locale
+     * @return Parsed value
+     * @throws NumberFormatException
+     *             if the characters do not represent a {@link BigDecimal}
+     */
+    public static BigDecimal parseBigDecimal(final CharSequence cs, final Locale locale) {
+        assertArgumentNotNull("cs", cs);
+
+        final Locale l = locale != null ? locale : LocaleUtil.getDefault();
+        final DecimalScanner scanner = new DecimalScanner();
+        if (scanner.scan(cs, DecimalFormatSymbolsUtil.getGroupingSeparator(l), DecimalFormatSymbolsUtil.getDecimalSeparator(l))) {
+            return BigDecimal.valueOf(scanner.negative ? -scanner.unscaledValue : scanner.unscaledValue, scanner.scale);
+        }
+        return new BigDecimal(DecimalFormatUtil.normalize(cs.toString(), l));
+    }
+
+    private static long parseLong(final CharSequence cs, final char groupingSep, final long min, final long max) {
+        final int length = cs.length();
+        int i = 0;
+        while (i < length && cs.charAt(i) == groupingSep) {
+            ++i;
+        }
+        boolean negative = false;
+        if (i < length) {
+            final char first = cs.charAt(i);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                ++i;
+            }
+        }
+        // accumulate negatively as Long#parseLong does, since |min| is greater than max
+        final long limit = negative ? min : -max;
+        final long multmin = limit / 10;
+        long result = 0;
+        boolean digits = false;
+        for (; i < length; ++i) {
+            final char c = cs.charAt(i);
+            if (c == groupingSep) {
+                continue;
+            }
+            final int digit = Character.digit(c, 10);
+            if (digit < 0 || result < multmin) {
+                throw newNumberFormatException(cs);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw newNumberFormatException(cs);
+            }
+            result -= digit;
+            digits = true;
+        }
+        if (!digits) {
+            throw newNumberFormatException(cs);
+        }
+        return negative ? result : -result;
+    }
+
+    private static char getGroupingSeparator(final Locale locale) {
+        return DecimalFormatSymbolsUtil.getGroupingSeparator(locale != null ? locale : LocaleUtil.getDefault());
+    }
+
+    private static NumberFormatException newNumberFormatException(final CharSequence cs) {
+        return new NumberFormatException("For input string: \"" + cs + "\"");
+    }
+
     private static DecimalFormatSymbols getDecimalFormatSymbols(final Locale locale) {
         DecimalFormatSymbols symbol;
         if (locale != null) {
@@ -173,4 +392,61 @@ public abstract class NumberConversionUtil {
         return symbol;
     }
 
+    /**
+     * Scanner of a plain decimal number of up to 18 digits, which fits in a {@literal long} unscaled value.
+     */
+    private static final class DecimalScanner {
+
+        /** Maximum number of digits whose value always fits in a {@literal long} */
+        private static final int MAX_DIGITS = 18;
+
+        boolean negative;
+
+        long unscaledValue;
+
+        int scale;
+
+        /**
+         * Scans an optional sign, digits and an optional decimal separator, skipping grouping separators.
+         *
+         * @return {@literal true} if the characters are a plain decimal number of up to 18 digits
+         */
+        boolean scan(final CharSequence cs, final char groupingSep, final char decimalSep) {
+            final int length = cs.length();
+            int i = 0;
+            while (i < length && cs.charAt(i) == groupingSep) {
+                ++i;
+            }
+            if (i < length) {
+                final char first = cs.charAt(i);
+                if (first == '-' || first == '+') {
+                    negative = first == '-';
+                    ++i;
+                }
+            }
+            int digits = 0;
+            boolean point = false;
+            for (; i < length; ++i) {
+                final char c = cs.charAt(i);
+                if (c == groupingSep) {
+                    continue;
+                }
+                if (c >= '0' && c <= '9') {
+                    if (++digits > MAX_DIGITS) {
+                        return false;
+                    }
+                    unscaledValue = unscaledValue * 10 + (c - '0');
+                    if (point) {
+                        ++scale;
+                    }
+                } else if (c == decimalSep && !point) {
+                    point = true;
+                } else {
+                    return false;
+                }
+            }
+            return digits > 0;
+        }
+    }
+
 }
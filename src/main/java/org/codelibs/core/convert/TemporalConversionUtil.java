@@ -49,7 +49,8 @@ import org.codelibs.core.exception.ParseRuntimeException;
  * value. {@link java.sql.Timestamp} additionally preserves nanosecond precision.</li>
  * <li>{@link Calendar}, converted from its instant.</li>
  * <li>{@link Number} (for example {@link Long}), interpreted as epoch milliseconds.</li>
- * <li>{@link String} in ISO-8601 format, parsed with the {@code parse} method of the target type (for example {@link LocalDate#parse}).</li>
+ * <li>{@link String} in ISO-8601 format, parsed with the {@code parse} method of the target type (for example {@link LocalDate#parse}).
+ * The common fixed-width forms, such as {@literal 2025-01-31T12:34:56.789Z}, are read directly without a formatter.</li>
  * </ul>
  * <p>
  * A {@literal null} source object is always converted to {@literal null}. Any other unsupported source object is converted from its
@@ -111,6 +112,10 @@ public abstract class TemporalConversionUtil {
         if (isEmpty(str)) {
             return null;
         }
+        final LocalDate date = IsoTemporalParser.parseLocalDate(str);
+        if (date != null) {
+            return date;
+        }
         try {
             return LocalDate.parse(str);
         } catch (final DateTimeParseException e) {
@@ -154,6 +159,10 @@ public abstract class TemporalConversionUtil {
         if (isEmpty(str)) {
             return null;
         }
+        final LocalDateTime dateTime = IsoTemporalParser.parseLocalDateTime(str);
+        if (dateTime != null) {
+            return dateTime;
+        }
         try {
             return LocalDateTime.parse(str);
         } catch (final DateTimeParseException e) {
@@ -197,6 +206,10 @@ public abstract class TemporalConversionUtil {
         if (isEmpty(str)) {
             return null;
         }
+        final LocalTime time = IsoTemporalParser.parseLocalTime(str);
+        if (time != null) {
+            return time;
+        }
         try {
             return LocalTime.parse(str);
         } catch (final DateTimeParseException e) {
@@ -226,6 +239,10 @@ public abstract class TemporalConversionUtil {
         if (isEmpty(str)) {
             return null;
         }
+        final OffsetDateTime offsetDateTime = IsoTemporalParser.parseOffsetDateTime(str);
+        if (offsetDateTime != null) {
+            return offsetDateTime.toInstant();
+        }
         try {
             return Instant.parse(str);
         } catch (final DateTimeParseException e) {
@@ -269,6 +286,10 @@ public abstract class TemporalConversionUtil {
         if (isEmpty(str)) {
             return null;
         }
+        final OffsetDateTime offsetDateTime = IsoTemporalParser.parseOffsetDateTime(str);
+        if (offsetDateTime != null) {
+            return offsetDateTime;
+        }
         try {
             return OffsetDateTime.parse(str);
         } catch (final DateTimeParseException e) {
@@ -312,6 +333,10 @@ public abstract class TemporalConversionUtil {
         if (isEmpty(str)) {
             return null;
         }
+        final OffsetDateTime offsetDateTime = IsoTemporalParser.parseOffsetDateTime(str);
+        if (offsetDateTime != null) {
+            return offsetDateTime.toZonedDateTime();
+        }
         try {
             return ZonedDateTime.parse(str);
         } catch (final DateTimeParseException e) {
@@ -34,7 +34,6 @@ import java.util.Iterator;
 import java.util.Locale;
 import java.util.NoSuchElementException;
 
-import org.codelibs.core.collection.MultiIterator;
 import org.codelibs.core.exception.ClUnsupportedOperationException;
 import org.codelibs.core.exception.ParseRuntimeException;
 import org.codelibs.core.misc.LocaleUtil;
@@ -267,8 +266,7 @@ public abstract class TimeConversionUtil {
             return null;
         }
         if (isNotEmpty(pattern)) {
-            final SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
-            final Date date = toDate(str, format);
+            final Date date = DateFormatCache.parse(str, pattern, locale);
             if (date != null) {
                 return date;
             }
@@ -348,8 +346,7 @@ public abstract class TimeConversionUtil {
             return null;
         }
         if (isNotEmpty(pattern)) {
-            final SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
-            final Date date = toDate(str, format);
+            final Date date = DateFormatCache.parse(str, pattern, locale);
             if (date != null) {
                 return toCalendar(date, locale);
             }
@@ -432,8 +429,7 @@ public abstract class TimeConversionUtil {
             return null;
         }
         if (isNotEmpty(pattern)) {
-            final SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
-            final Date date = toDate(str, format);
+            final Date date = DateFormatCache.parse(str, pattern, locale);
             if (date != null) {
                 return new Time(date.getTime());
             }
@@ -458,18 +454,8 @@ public abstract class TimeConversionUtil {
      *            The locale.
      * @return The converted {@link Date}.
      */
-    @SuppressWarnings("unchecked")
     protected static Date toDate(final String str, final Locale locale) {
-        for (final DateFormat format : MultiIterator.iterable(new DateFormatIterator(locale), new PlainDateFormatIterator(str, locale))) {
-            if (format == null) {
-                continue;
-            }
-            final Date date = toDate(str, format);
-            if (date != null) {
-                return date;
-            }
-        }
-        return null;
+        return DateFormatCache.parse(str, locale, "time", STYLES, DateFormat::getTimeInstance, TimeConversionUtil::toPlainPattern);
     }
 
     /**
@@ -525,6 +511,11 @@ public abstract class TimeConversionUtil {
      * @return The converted {@link Time}.
      */
     protected static Time toSqlTimeJdbcEscape(final String str) {
+        // java.sql.Time.valueOf requires "hh:mm:ss"; reject other strings without the cost of an exception
+        final int firstColon = str == null ? -1 : str.indexOf(':');
+        if (firstColon <= 0 || str.indexOf(':', firstColon + 1) < 0) {
+            return null;
+        }
         try {
             return Time.valueOf(str);
         } catch (final IllegalArgumentException ex) {
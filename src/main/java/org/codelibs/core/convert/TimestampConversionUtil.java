@@ -34,7 +34,6 @@ import java.util.Iterator;
 import java.util.Locale;
 import java.util.NoSuchElementException;
 
-import org.codelibs.core.collection.MultiIterator;
 import org.codelibs.core.exception.ClUnsupportedOperationException;
 import org.codelibs.core.exception.ParseRuntimeException;
 import org.codelibs.core.misc.LocaleUtil;
@@ -243,8 +242,7 @@ public abstract class TimestampConversionUtil {
             return null;
         }
         if (isNotEmpty(pattern)) {
-            final SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
-            final Date date = toDate(str, format);
+            final Date date = DateFormatCache.parse(str, pattern, locale);
             if (date != null) {
                 return date;
             }
@@ -324,8 +322,7 @@ public abstract class TimestampConversionUtil {
             return null;
         }
         if (isNotEmpty(pattern)) {
-            final SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
-            final Date date = toDate(str, format);
+            final Date date = DateFormatCache.parse(str, pattern, locale);
             if (date != null) {
                 return toCalendar(date, locale);
             }
@@ -408,8 +405,7 @@ public abstract class TimestampConversionUtil {
             return null;
         }
         if (isNotEmpty(pattern)) {
-            final SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
-            final Date date = toDate(str, format);
+            final Date date = DateFormatCache.parse(str, pattern, locale);
             if (date != null) {
                 return new Timestamp(date.getTime());
             }
@@ -434,18 +430,9 @@ public abstract class TimestampConversionUtil {
      *            The locale.
      * @return The converted {@link Date}.
      */
-    @SuppressWarnings("unchecked")
     protected static Date toDate(final String str, final Locale locale) {
-        for (final DateFormat format : MultiIterator.iterable(new DateFormatIterator(locale), new PlainDateFormatIterator(str, locale))) {
-            if (format == null) {
-                continue;
-            }
-            final Date date = toDate(str, format);
-            if (date != null) {
-                return date;
-            }
-        }
-        return null;
+        return DateFormatCache.parse(str, locale, "timestamp", STYLES, (style, l) -> DateFormat.getDateTimeInstance(style, style, l),
+                TimestampConversionUtil::toPlainPattern);
     }
 
     /**
@@ -501,6 +488,10 @@ public abstract class TimestampConversionUtil {
      * @return The converted {@link Timestamp}.
      */
     protected static Timestamp toSqlTimestampJdbcEscape(final String str) {
+        // java.sql.Timestamp.valueOf requires "yyyy-[m]m-[d]d hh:mm:ss[.f...]"; reject other strings without the cost of an exception
+        if (str == null || str.indexOf(' ') < 0 || str.indexOf('-') < 0 || str.indexOf(':') < 0) {
+            return null;
+        }
         try {
             return Timestamp.valueOf(str);
         } catch (final IllegalArgumentException ex) {
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.convert;
+
+/**
+ * Converts a value to a particular target type.
+ *
+ * @author shinsuke
+ * @see ConverterRegistry
+ */
+@FunctionalInterface
+public interface TypeConverter {
+
+    /** Converter that returns the value as it is */
+    TypeConverter IDENTITY = value -> value;
+
+    /**
+     * Converts the value.
+     *
+     * @param value
+     *            the value
+     * @return the converted value
+     */
+    Object convert(Object value);
+
+}
@@ -198,6 +198,29 @@ public abstract class ClassUtil {
         return forName(className);
     }
 
+    /**
+     * If the class name is a primitive type name, returns its class; otherwise loads the class with the specified class loader.
+     *
+     * @param className
+     *            The class name. Must not be {@literal null} or empty.
+     * @param loader
+     *            The class loader to use to load the class
+     * @return {@link Class}
+     * @throws EmptyArgumentException
+     *             If the class name is {@literal null} or empty.
+     * @throws ClassNotFoundRuntimeException
+     *             If a {@link ClassNotFoundException} occurs.
+     * @see #forName(String, ClassLoader)
+     */
+    public static Class<?> convertClass(final String className, final ClassLoader loader) throws ClassNotFoundRuntimeException {
+        assertArgumentNotEmpty("className", className);
+        final Class<?> clazz = primitiveNameToClassMap.get(className);
+        if (clazz != null) {
+            return clazz;
+        }
+        return forName(className, loader);
+    }
+
     /**
      * Creates and initializes a new instance of the class using its default constructor.
      *
@@ -58,13 +58,49 @@ public abstract class DecimalFormatSymbolsUtil {
     public static DecimalFormatSymbols getDecimalFormatSymbols(final Locale locale) {
         assertArgumentNotNull("locale", locale);
 
+        // Return a defensive copy so that callers cannot mutate the shared cached instance.
+        return (DecimalFormatSymbols) getCachedDecimalFormatSymbols(locale).clone();
+    }
+
+    /**
+     * Returns the grouping separator of the locale.
+     * <p>
+     * Unlike {@link #getDecimalFormatSymbols(Locale)}, this does not copy the {@link DecimalFormatSymbols}.
+     * </p>
+     *
+     * @param locale
+     *            The locale. Must not be {@literal null}.
+     * @return The grouping separator
+     */
+    public static char getGroupingSeparator(final Locale locale) {
+        assertArgumentNotNull("locale", locale);
+
+        return getCachedDecimalFormatSymbols(locale).getGroupingSeparator();
+    }
+
+    /**
+     * Returns the decimal separator of the locale.
+     * <p>
+     * Unlike {@link #getDecimalFormatSymbols(Locale)}, this does not copy the {@link DecimalFormatSymbols}.
+     * </p>
+     *
+     * @param locale
+     *            The locale. Must not be {@literal null}.
+     * @return The decimal separator
+     */
+    public static char getDecimalSeparator(final Locale locale) {
+        assertArgumentNotNull("locale", locale);
+
+        return getCachedDecimalFormatSymbols(locale).getDecimalSeparator();
+    }
+
+    private static DecimalFormatSymbols getCachedDecimalFormatSymbols(final Locale locale) {
         DecimalFormatSymbols symbols = CACHE.get(locale);
         if (symbols == null) {
             symbols = new DecimalFormatSymbols(locale);
             CACHE.put(locale, symbols);
         }
-        // Return a defensive copy so that callers cannot mutate the shared cached instance.
-        return (DecimalFormatSymbols) symbols.clone();
+        return symbols;
     }
 
 }
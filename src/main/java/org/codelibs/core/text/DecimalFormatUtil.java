@@ -18,7 +18,6 @@ package org.codelibs.core.text;
 import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
 
 import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.util.Locale;
 
 import org.codelibs.core.misc.LocaleUtil;
@@ -64,11 +63,23 @@ public abstract class DecimalFormatUtil {
         if (s == null) {
             return null;
         }
-        final DecimalFormatSymbols symbols = DecimalFormatSymbolsUtil.getDecimalFormatSymbols(locale);
-        final char decimalSep = symbols.getDecimalSeparator();
-        final char groupingSep = symbols.getGroupingSeparator();
-        final StringBuilder buf = new StringBuilder(20);
-        for (int i = 0; i < s.length(); ++i) {
+        final char decimalSep = DecimalFormatSymbolsUtil.getDecimalSeparator(locale);
+        final char groupingSep = DecimalFormatSymbolsUtil.getGroupingSeparator(locale);
+        int start = 0;
+        while (start < s.length()) {
+            final char c = s.charAt(start);
+            if (c == groupingSep || c == decimalSep && c != '.') {
+                break;
+            }
+            ++start;
+        }
+        if (start == s.length()) {
+            // nothing to remove or replace
+            return s;
+        }
+        final StringBuilder buf = new StringBuilder(s.length());
+        buf.append(s, 0, start);
+        for (int i = start; i < s.length(); ++i) {
             char c = s.charAt(i);
             if (c == groupingSep) {
                 continue;
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.timer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of lags in milliseconds with power-of-two buckets.
+ *
+ * @author shinsuke
+ * @see TimeoutMetrics#getExpiryLagHistogram()
+ */
+class LagHistogram {
+
+    /**
+     * The number of buckets.
+     */
+    static final int BUCKET_COUNT = 32;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a lag.
+     *
+     * @param lagMillis the lag in milliseconds
+     */
+    void record(final long lagMillis) {
+        final long lag = Math.max(lagMillis, 0L);
+        buckets.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(lag), BUCKET_COUNT - 1));
+        count.increment();
+        sum.add(lag);
+        if (lag > max.get()) {
+            max.accumulateAndGet(lag, Math::max);
+        }
+    }
+
+    /**
+     * Returns the maximum lag.
+     *
+     * @return the maximum lag in milliseconds
+     */
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean lag.
+     *
+     * @return the mean lag in milliseconds
+     */
+    double getMean() {
+        final long n = count.sum();
+        return n == 0L ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Returns the counts of each bucket.
+     *
+     * @return the counts of each bucket
+     */
+    long[] toArray() {
+        final long[] values = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            values[i] = buckets.get(i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.timer;
+
+import static org.codelibs.core.misc.AssertionUtil.assertArgument;
+import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotEmpty;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * A set of independent {@link TimeoutManager}s that spreads {@link TimeoutTask}s across them.
+ * <p>
+ * A task is added to the shard selected by the identity hash of its target, so tasks are spread
+ * across the shards even when they are registered by a single thread, and concurrent registrations
+ * rarely contend on the same monitor. A task is cancelled, stopped and restarted through the shard
+ * that holds it. Each shard has its own timer thread.
+ * </p>
+ *
+ * @author shinsuke
+ */
+public class ShardedTimeoutManager {
+
+    /**
+     * The shards.
+     */
+    protected final TimeoutManager[] shards;
+
+    /**
+     * Creates a {@link ShardedTimeoutManager} with a shard per available processor.
+     *
+     * @param name the name of the manager; the shards are named <code>name-0</code>, <code>name-1</code>, ...
+     */
+    public ShardedTimeoutManager(final String name) {
+        this(name, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a {@link ShardedTimeoutManager}.
+     *
+     * @param name the name of the manager; the shards are named <code>name-0</code>, <code>name-1</code>, ...
+     * @param shardCount the number of shards
+     */
+    public ShardedTimeoutManager(final String name, final int shardCount) {
+        assertArgumentNotEmpty("name", name);
+        assertArgument("shardCount", shardCount > 0, "shardCount must be positive.");
+        shards = new TimeoutManager[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new TimeoutManager(name + "-" + i);
+        }
+    }
+
+    /**
+     * Adds a {@link TimeoutTarget}.
+     *
+     * @param timeoutTarget the target
+     * @param timeout the timeout duration in seconds
+     * @param permanent whether the task is permanent
+     * @return the {@link TimeoutTask}
+     */
+    public TimeoutTask addTimeoutTarget(final TimeoutTarget timeoutTarget, final int timeout, final boolean permanent) {
+        return selectShard(timeoutTarget).addTimeoutTarget(timeoutTarget, timeout, permanent);
+    }
+
+    /**
+     * Adds a {@link TimeoutTarget}.
+     *
+     * @param timeoutTarget the target
+     * @param timeout the timeout duration
+     * @param permanent whether the task is permanent
+     * @return the {@link TimeoutTask}
+     */
+    public TimeoutTask addTimeoutTarget(final TimeoutTarget timeoutTarget, final Duration timeout, final boolean permanent) {
+        return selectShard(timeoutTarget).addTimeoutTarget(timeoutTarget, timeout, permanent);
+    }
+
+    /**
+     * Adds a {@link TimeoutTarget}.
+     *
+     * @param timeoutTarget the target
+     * @param timeoutMillis the timeout duration in milliseconds
+     * @param permanent whether the task is permanent
+     * @return the {@link TimeoutTask}
+     */
+    public TimeoutTask addTimeoutTargetMillis(final TimeoutTarget timeoutTarget, final long timeoutMillis, final boolean permanent) {
+        return selectShard(timeoutTarget).addTimeoutTargetMillis(timeoutTarget, timeoutMillis, permanent);
+    }
+
+    /**
+     * Returns the total number of managed {@link TimeoutTask}.
+     *
+     * @return the total number of managed {@link TimeoutTask}
+     */
+    public int getTimeoutTaskCount() {
+        int count = 0;
+        for (final TimeoutManager shard : shards) {
+            count += shard.getTimeoutTaskCount();
+        }
+        return count;
+    }
+
+    /**
+     * Sets the factory of the {@link ExecutorService} of every shard.
+     *
+     * @param executorServiceFactory the factory, or <code>null</code> for the default
+     * @see TimeoutManager#setExecutorServiceFactory(Supplier)
+     */
+    public void setExecutorServiceFactory(final Supplier<ExecutorService> executorServiceFactory) {
+        for (final TimeoutManager shard : shards) {
+            shard.setExecutorServiceFactory(executorServiceFactory);
+        }
+    }
+
+    /**
+     * Clears the managed {@link TimeoutTask} of every shard.
+     */
+    public void clear() {
+        for (final TimeoutManager shard : shards) {
+            shard.clear();
+        }
+    }
+
+    /**
+     * Stops the timer thread of every shard.
+     */
+    public void stop() {
+        for (final TimeoutManager shard : shards) {
+            shard.stop();
+        }
+    }
+
+    /**
+     * Returns the shards.
+     *
+     * @return the unmodifiable list of the shards
+     */
+    public List<TimeoutManager> getShards() {
+        return Collections.unmodifiableList(Arrays.asList(shards));
+    }
+
+    /**
+     * Returns the shard for a task of the target.
+     *
+     * @param timeoutTarget the target
+     * @return the shard
+     */
+    protected TimeoutManager selectShard(final TimeoutTarget timeoutTarget) {
+        final int h = System.identityHashCode(timeoutTarget) * 0x9E3779B9;
+        return shards[((h ^ h >>> 16) & 0x7FFFFFFF) % shards.length];
+    }
+}
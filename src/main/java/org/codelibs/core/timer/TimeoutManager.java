@@ -15,19 +15,44 @@
  */
 package org.codelibs.core.timer;
 
+import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotEmpty;
+import static org.codelibs.core.misc.AssertionUtil.assertArgumentNotNull;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 
-import org.codelibs.core.collection.SLinkedList;
+import org.codelibs.core.exception.ClIllegalStateException;
 import org.codelibs.core.lang.StringUtil;
 import org.codelibs.core.log.Logger;
 
 /**
  * A class that handles timers.
+ * <p>
+ * Registered {@link TimeoutTask}s are held in a hierarchical timing wheel, so adding,
+ * cancelling and expiring a task take constant time regardless of the number of tasks.
+ * Cancelled tasks are removed immediately. The timer thread sleeps until the earliest deadline
+ * instead of polling, so timeouts have millisecond resolution.
+ * </p>
+ * <p>
+ * {@link #getInstance()} returns the process-wide singleton. Independent instances can be created
+ * with {@link #TimeoutManager(String)}, and {@link ShardedTimeoutManager} spreads tasks across several.
+ * </p>
  *
  * @author higa
  *
@@ -36,22 +61,102 @@ public class TimeoutManager implements Runnable {
 
     private static final Logger logger = Logger.getLogger(TimeoutManager.class);
 
+    /**
+     * The name of the singleton.
+     */
+    public static final String DEFAULT_NAME = "default";
+
     /**
      * Instance for the singleton.
      */
     protected static final TimeoutManager instance = new TimeoutManager();
 
+    /**
+     * The name of this manager.
+     */
+    protected final String name;
+
     /**
      * {@link Thread} for the timer.
      */
     protected Thread thread;
 
     /**
-     * A list for managing {@link TimeoutTask}.
+     * The duration of a tick of {@link #timerWheel} in milliseconds.
+     */
+    protected static final long TICK_MILLIS = 10L;
+
+    /**
+     * The number of levels of {@link #timerWheel}.
+     */
+    protected static final int WHEEL_LEVELS = 6;
+
+    /**
+     * The system property that selects the executor for expired tasks.
+     */
+    public static final String EXECUTOR_TYPE_PROPERTY = "corelib.timeout_task.executor";
+
+    /**
+     * The executor type that runs each expired task on a new virtual thread.
+     */
+    public static final String VIRTUAL_EXECUTOR = "virtual";
+
+    /**
+     * The executor type that runs expired tasks on a bounded pool of platform threads.
+     */
+    public static final String PLATFORM_EXECUTOR = "platform";
+
+    /**
+     * The domain of the {@link ObjectName} of the registered metrics.
      */
-    protected final SLinkedList<TimeoutTask> timeoutTaskList = new SLinkedList<>();
+    public static final String MBEAN_DOMAIN = "org.codelibs.core.timer";
+
+    /**
+     * A timing wheel for managing {@link TimeoutTask}.
+     */
+    final TimerWheel timerWheel = new TimerWheel(TICK_MILLIS, WHEEL_LEVELS, System.currentTimeMillis());
+
+    /**
+     * The time until which the timer thread is waiting, or {@link Long#MIN_VALUE} if it is not waiting.
+     */
+    private long wakeupTime = Long.MIN_VALUE;
+
+    /**
+     * The factory of the {@link ExecutorService} for expired tasks, or <code>null</code> for the default.
+     */
+    private Supplier<ExecutorService> executorServiceFactory;
+
+    /**
+     * The {@link ExecutorService} used by the running timer thread.
+     */
+    private volatile ExecutorService currentExecutorService;
+
+    private final LongAdder expiredTaskCount = new LongAdder();
+
+    private final LongAdder canceledTaskCount = new LongAdder();
+
+    private final LongAdder callerRunsCount = new LongAdder();
+
+    private final LagHistogram expiryLagHistogram = new LagHistogram();
+
+    private final TimeoutMetrics metrics = new Metrics();
+
+    /** The name under which the metrics are registered, or {@literal null} if they are not registered */
+    private ObjectName registeredName;
 
     private TimeoutManager() {
+        this(DEFAULT_NAME);
+    }
+
+    /**
+     * Creates a {@link TimeoutManager} independent of the singleton. It has its own timer thread,
+     * executor and monitor.
+     *
+     * @param name the name of the manager, used for the thread and the MBean
+     */
+    public TimeoutManager(final String name) {
+        assertArgumentNotEmpty("name", name);
+        this.name = name;
     }
 
     /**
@@ -68,11 +173,11 @@ public class TimeoutManager implements Runnable {
      */
     public synchronized void start() {
         if (thread == null) {
-            thread = new Thread(this, "CoreLib-TimeoutManager");
+            thread = new Thread(this, DEFAULT_NAME.equals(name) ? "CoreLib-TimeoutManager" : "CoreLib-TimeoutManager-" + name);
             thread.setDaemon(true);
             thread.start();
             if (logger.isDebugEnabled()) {
-                logger.debug("TimeoutManager started.");
+                logger.debug("TimeoutManager(" + name + ") started.");
             }
         }
     }
@@ -85,7 +190,7 @@ public class TimeoutManager implements Runnable {
             thread.interrupt();
             thread = null;
             if (logger.isDebugEnabled()) {
-                logger.debug("TimeoutManager stopped.");
+                logger.debug("TimeoutManager(" + name + ") stopped.");
             }
         }
     }
@@ -109,7 +214,7 @@ public class TimeoutManager implements Runnable {
         }
         t.interrupt();
         if (logger.isDebugEnabled()) {
-            logger.debug("TimeoutManager stopped.");
+            logger.debug("TimeoutManager(" + name + ") stopped.");
         }
         t.join(timeoutMillis);
         return !t.isAlive();
@@ -119,7 +224,20 @@ public class TimeoutManager implements Runnable {
      * Clears the managed {@link TimeoutTask}.
      */
     public synchronized void clear() {
-        timeoutTaskList.clear();
+        timerWheel.clear(task -> task.timeoutManager = null);
+        notifyAll();
+    }
+
+    /**
+     * Adds a {@link TimeoutTarget}.
+     *
+     * @param timeoutTarget the target
+     * @param timeout the timeout duration in seconds
+     * @param permanent whether the task is permanent
+     * @return the {@link TimeoutTask}
+     */
+    public TimeoutTask addTimeoutTarget(final TimeoutTarget timeoutTarget, final int timeout, final boolean permanent) {
+        return addTimeoutTargetMillis(timeoutTarget, timeout * 1000L, permanent);
     }
 
     /**
@@ -130,44 +248,152 @@ public class TimeoutManager implements Runnable {
      * @param permanent whether the task is permanent
      * @return the {@link TimeoutTask}
      */
-    public synchronized TimeoutTask addTimeoutTarget(final TimeoutTarget timeoutTarget, final int timeout, final boolean permanent) {
-        final TimeoutTask task = new TimeoutTask(timeoutTarget, timeout, permanent);
-        timeoutTaskList.addLast(task);
+    public TimeoutTask addTimeoutTarget(final TimeoutTarget timeoutTarget, final Duration timeout, final boolean permanent) {
+        assertArgumentNotNull("timeout", timeout);
+        return addTimeoutTargetMillis(timeoutTarget, timeout.toMillis(), permanent);
+    }
+
+    /**
+     * Adds a {@link TimeoutTarget}.
+     *
+     * @param timeoutTarget the target
+     * @param timeoutMillis the timeout duration in milliseconds
+     * @param permanent whether the task is permanent
+     * @return the {@link TimeoutTask}
+     */
+    public synchronized TimeoutTask addTimeoutTargetMillis(final TimeoutTarget timeoutTarget, final long timeoutMillis,
+            final boolean permanent) {
+        final TimeoutTask task = new TimeoutTask(timeoutTarget, timeoutMillis, permanent);
+        task.timeoutManager = this;
+        scheduleTask(task);
         start();
         return task;
     }
 
+    /**
+     * Schedules the registered {@link TimeoutTask} again from its current start time.
+     *
+     * @param task the task
+     */
+    synchronized void schedule(final TimeoutTask task) {
+        if (task.timeoutManager == this && !task.isCanceled()) {
+            scheduleTask(task);
+        }
+    }
+
+    private void scheduleTask(final TimeoutTask task) {
+        timerWheel.schedule(task, System.currentTimeMillis());
+        if (task.getDeadline() < wakeupTime) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Keeps the registered {@link TimeoutTask} without scheduling it.
+     *
+     * @param task the task
+     */
+    synchronized void park(final TimeoutTask task) {
+        if (task.timeoutManager == this) {
+            timerWheel.park(task);
+        }
+    }
+
+    /**
+     * Removes the {@link TimeoutTask} immediately.
+     *
+     * @param task the task
+     */
+    synchronized void cancel(final TimeoutTask task) {
+        if (task.timeoutManager == this) {
+            timerWheel.remove(task);
+            task.timeoutManager = null;
+            canceledTaskCount.increment();
+            if (timerWheel.isEmpty()) {
+                notifyAll();
+            }
+        }
+    }
+
     /**
      * Returns the number of managed {@link TimeoutTask}.
      *
      * @return the number of managed {@link TimeoutTask}
      */
     public synchronized int getTimeoutTaskCount() {
-        return timeoutTaskList.size();
+        return timerWheel.size();
     }
 
-    @Override
-    public void run() {
-        int nThreads = Runtime.getRuntime().availableProcessors() / 2;
-        final String value = System.getProperty("corelib.timeout_task.num_of_threads");
-        if (StringUtil.isNotBlank(value)) {
-            try {
-                nThreads = Integer.parseInt(value);
-            } catch (final NumberFormatException e) {
-                logger.warn("Failed to parse " + value, e);
+    /**
+     * Sets the factory of the {@link ExecutorService} that runs {@link TimeoutTarget#expired()}.
+     * It is used the next time the timer thread starts. If <code>null</code>, the executor is
+     * chosen by the <code>corelib.timeout_task.executor</code> system property.
+     *
+     * @param executorServiceFactory the factory, or <code>null</code> for the default
+     */
+    public synchronized void setExecutorServiceFactory(final Supplier<ExecutorService> executorServiceFactory) {
+        this.executorServiceFactory = executorServiceFactory;
+    }
+
+    /**
+     * Creates the {@link ExecutorService} that runs {@link TimeoutTarget#expired()}.
+     * <p>
+     * Unless a factory is set, the <code>corelib.timeout_task.executor</code> system property
+     * selects the executor: <code>virtual</code> (default) starts a virtual thread per expiry, so a
+     * slow target never blocks the timer thread; <code>platform</code> uses a bounded pool of
+     * <code>corelib.timeout_task.num_of_threads</code> threads that runs tasks on the timer
+     * thread when it is saturated.
+     * </p>
+     *
+     * @return the {@link ExecutorService}
+     */
+    protected ExecutorService createExecutorService() {
+        final Supplier<ExecutorService> factory;
+        synchronized (this) {
+            factory = executorServiceFactory;
+        }
+        if (factory != null) {
+            return factory.get();
+        }
+        final String executorType = System.getProperty(EXECUTOR_TYPE_PROPERTY, VIRTUAL_EXECUTOR);
+        if (PLATFORM_EXECUTOR.equalsIgnoreCase(executorType)) {
+            int nThreads = Runtime.getRuntime().availableProcessors() / 2;
+            final String value = System.getProperty("corelib.timeout_task.num_of_threads");
+            if (StringUtil.isNotBlank(value)) {
+                try {
+                    nThreads = Integer.parseInt(value);
+                } catch (final NumberFormatException e) {
+                    logger.warn("Failed to parse " + value, e);
+                }
             }
+            if (nThreads < 1) {
+                nThreads = 1;
+            }
+            return new ThreadPoolExecutor(nThreads, nThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(nThreads),
+                    (r, executor) -> {
+                        // same as CallerRunsPolicy, but counted
+                        if (!executor.isShutdown()) {
+                            callerRunsCount.increment();
+                            r.run();
+                        }
+                    });
         }
-        if (nThreads < 1) {
-            nThreads = 1;
+        if (!VIRTUAL_EXECUTOR.equalsIgnoreCase(executorType)) {
+            logger.warn("Unknown executor type: " + executorType);
         }
-        final ExecutorService executorService = new ThreadPoolExecutor(nThreads, nThreads, 0L, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<Runnable>(nThreads), new ThreadPoolExecutor.CallerRunsPolicy());
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("CoreLib-TimeoutTask-", 0L).factory());
+    }
+
+    @Override
+    public void run() {
+        final ExecutorService executorService = createExecutorService();
+        currentExecutorService = executorService;
         try {
             while (!isInterrupted() && !stopIfLeisure()) {
                 for (final TimeoutTask task : getExpiredTask()) {
                     processTask(executorService, task);
                 }
-                Thread.sleep(1000L);
+                awaitNextExpiration();
             }
         } catch (final InterruptedException e) {
             if (logger.isDebugEnabled()) {
@@ -184,6 +410,9 @@ public class TimeoutManager implements Runnable {
                     thread = null;
                 }
             }
+            if (currentExecutorService == executorService) {
+                currentExecutorService = null;
+            }
             try {
                 executorService.shutdown();
                 executorService.awaitTermination(60, TimeUnit.SECONDS);
@@ -200,6 +429,7 @@ public class TimeoutManager implements Runnable {
     private void processTask(final ExecutorService executorService, final TimeoutTask task) {
         try {
             executorService.execute(() -> {
+                expiryLagHistogram.record(System.currentTimeMillis() - task.getDeadline());
                 try {
                     task.expired();
                 } catch (final Exception e) {
@@ -220,6 +450,33 @@ public class TimeoutManager implements Runnable {
         }
     }
 
+    /**
+     * Waits until the earliest deadline of the managed {@link TimeoutTask}, or until a task with
+     * an earlier deadline is added.
+     *
+     * @throws InterruptedException
+     *             If interrupted while waiting
+     */
+    protected synchronized void awaitNextExpiration() throws InterruptedException {
+        final long nextExpiration = timerWheel.nextExpiration();
+        try {
+            if (nextExpiration == Long.MAX_VALUE) {
+                if (!timerWheel.isEmpty()) {
+                    wakeupTime = Long.MAX_VALUE;
+                    wait();
+                }
+            } else {
+                final long waitMillis = nextExpiration - System.currentTimeMillis();
+                if (waitMillis > 0L) {
+                    wakeupTime = nextExpiration;
+                    wait(waitMillis);
+                }
+            }
+        } finally {
+            wakeupTime = Long.MIN_VALUE;
+        }
+    }
+
     private synchronized boolean isInterrupted() {
         if (thread != null) {
             return thread.isInterrupted();
@@ -227,6 +484,72 @@ public class TimeoutManager implements Runnable {
         return true;
     }
 
+    /**
+     * Returns the metrics of this manager.
+     *
+     * @return the metrics
+     */
+    public TimeoutMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Registers the metrics of this manager with the platform MBean server.
+     * <p>
+     * Calling this method again returns the name already registered by this manager.
+     * </p>
+     *
+     * @return the name under which the metrics are registered
+     * @throws ClIllegalStateException
+     *             if the name is already registered by another manager with the same name
+     */
+    public synchronized ObjectName registerMBean() {
+        if (registeredName != null) {
+            return registeredName;
+        }
+        try {
+            final ObjectName name = getObjectName();
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new StandardMBean(metrics, TimeoutMetrics.class, true), name);
+            registeredName = name;
+            return name;
+        } catch (final InstanceAlreadyExistsException e) {
+            throw new ClIllegalStateException("The metrics of another manager named " + getName() + " are already registered", e);
+        } catch (final JMException e) {
+            throw new ClIllegalStateException("Failed to register the metrics of " + getName(), e);
+        }
+    }
+
+    /**
+     * Unregisters the metrics registered by {@link #registerMBean()} from the platform MBean server.
+     */
+    public synchronized void unregisterMBean() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(registeredName)) {
+                server.unregisterMBean(registeredName);
+            }
+            registeredName = null;
+        } catch (final JMException e) {
+            throw new ClIllegalStateException("Failed to unregister the metrics of " + getName(), e);
+        }
+    }
+
+    private ObjectName getObjectName() throws JMException {
+        return new ObjectName(MBEAN_DOMAIN + ":type=TimeoutManager,name=" + ObjectName.quote(getName()));
+    }
+
+    /**
+     * Returns the name of this manager.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
     /**
      * Returns the list of expired {@link TimeoutTask}.
      *
@@ -234,20 +557,26 @@ public class TimeoutManager implements Runnable {
      */
     protected synchronized List<TimeoutTask> getExpiredTask() {
         final List<TimeoutTask> expiredTask = new ArrayList<>();
-        if (timeoutTaskList.isEmpty()) {
+        if (timerWheel.isEmpty()) {
             return expiredTask;
         }
-        for (SLinkedList<TimeoutTask>.Entry e = timeoutTaskList.getFirstEntry(); e != null; e = e.getNext()) {
-            final TimeoutTask task = e.getElement();
+        timerWheel.expire(System.currentTimeMillis(), expiredTask);
+        for (final Iterator<TimeoutTask> itr = expiredTask.iterator(); itr.hasNext();) {
+            final TimeoutTask task = itr.next();
             if (task.isCanceled()) {
-                e.remove();
-            } else if (!task.isStopped() && task.isExpired()) {
-                expiredTask.add(task);
-                if (!task.isPermanent()) {
-                    e.remove();
-                }
+                task.timeoutManager = null;
+                itr.remove();
+            } else if (task.isStopped()) {
+                timerWheel.park(task);
+                itr.remove();
+            } else if (task.isPermanent()) {
+                // kept registered until restarted after the target has run
+                timerWheel.park(task);
+            } else {
+                task.timeoutManager = null;
             }
         }
+        expiredTaskCount.add(expiredTask.size());
         return expiredTask;
     }
 
@@ -257,11 +586,88 @@ public class TimeoutManager implements Runnable {
      * @return whether the process was stopped
      */
     protected synchronized boolean stopIfLeisure() {
-        if (timeoutTaskList.isEmpty()) {
+        if (timerWheel.isEmpty()) {
             thread = null;
             return true;
         }
         return false;
     }
 
+    /**
+     * {@link TimeoutMetrics} backed by the counters of this manager.
+     */
+    private class Metrics implements TimeoutMetrics {
+
+        private long lastRateTime = System.nanoTime();
+
+        private long lastRateCount;
+
+        private double expiredTasksPerSecond;
+
+        @Override
+        public int getTimeoutTaskCount() {
+            return TimeoutManager.this.getTimeoutTaskCount();
+        }
+
+        @Override
+        public long getExpiredTaskCount() {
+            return expiredTaskCount.sum();
+        }
+
+        @Override
+        public synchronized double getExpiredTasksPerSecond() {
+            final long now = System.nanoTime();
+            final long elapsed = now - lastRateTime;
+            if (elapsed >= TimeUnit.SECONDS.toNanos(1L)) {
+                final long count = expiredTaskCount.sum();
+                expiredTasksPerSecond = (count - lastRateCount) * (double) TimeUnit.SECONDS.toNanos(1L) / elapsed;
+                lastRateTime = now;
+                lastRateCount = count;
+            }
+            return expiredTasksPerSecond;
+        }
+
+        @Override
+        public long getCanceledTaskCount() {
+            return canceledTaskCount.sum();
+        }
+
+        @Override
+        public int getExecutorQueueSize() {
+            final ExecutorService executor = currentExecutorService;
+            if (executor instanceof ThreadPoolExecutor) {
+                return ((ThreadPoolExecutor) executor).getQueue().size();
+            }
+            return 0;
+        }
+
+        @Override
+        public int getExecutorQueueRemainingCapacity() {
+            final ExecutorService executor = currentExecutorService;
+            if (executor instanceof ThreadPoolExecutor) {
+                return ((ThreadPoolExecutor) executor).getQueue().remainingCapacity();
+            }
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public long getCallerRunsCount() {
+            return callerRunsCount.sum();
+        }
+
+        @Override
+        public long getMaxExpiryLagMillis() {
+            return expiryLagHistogram.getMax();
+        }
+
+        @Override
+        public double getMeanExpiryLagMillis() {
+            return expiryLagHistogram.getMean();
+        }
+
+        @Override
+        public long[] getExpiryLagHistogram() {
+            return expiryLagHistogram.toArray();
+        }
+    }
 }
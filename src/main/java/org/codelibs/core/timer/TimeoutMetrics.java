@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.timer;
+
+/**
+ * Counters and gauges of a {@link TimeoutManager}.
+ * <p>
+ * The expiry lag is the time from the deadline of a {@link TimeoutTask} until its
+ * {@link TimeoutTarget#expired()} actually starts, including the time spent waiting for the executor.
+ * </p>
+ *
+ * @author shinsuke
+ * @see TimeoutManager#getMetrics()
+ */
+public interface TimeoutMetrics {
+
+    /**
+     * Returns the number of registered {@link TimeoutTask}s.
+     *
+     * @return the number of registered tasks
+     */
+    int getTimeoutTaskCount();
+
+    /**
+     * Returns the total number of expired {@link TimeoutTask}s.
+     *
+     * @return the total number of expired tasks
+     */
+    long getExpiredTaskCount();
+
+    /**
+     * Returns the number of expired {@link TimeoutTask}s per second, measured since the previous
+     * measurement that was at least one second ago.
+     *
+     * @return the number of expired tasks per second
+     */
+    double getExpiredTasksPerSecond();
+
+    /**
+     * Returns the total number of cancelled {@link TimeoutTask}s. Cancelled tasks are removed
+     * immediately, so none of them remains registered.
+     *
+     * @return the total number of cancelled tasks
+     */
+    long getCanceledTaskCount();
+
+    /**
+     * Returns the number of expired tasks waiting in the queue of the executor, or <code>0</code>
+     * if the executor has no visible queue.
+     *
+     * @return the number of queued tasks
+     */
+    int getExecutorQueueSize();
+
+    /**
+     * Returns the remaining capacity of the queue of the executor, or {@link Integer#MAX_VALUE} if
+     * it is unbounded or not visible.
+     *
+     * @return the remaining capacity of the queue
+     */
+    int getExecutorQueueRemainingCapacity();
+
+    /**
+     * Returns the number of expired tasks that were run on the timer thread because the executor
+     * was saturated.
+     *
+     * @return the number of caller-runs fallbacks
+     */
+    long getCallerRunsCount();
+
+    /**
+     * Returns the maximum expiry lag in milliseconds.
+     *
+     * @return the maximum expiry lag
+     */
+    long getMaxExpiryLagMillis();
+
+    /**
+     * Returns the mean expiry lag in milliseconds.
+     *
+     * @return the mean expiry lag
+     */
+    double getMeanExpiryLagMillis();
+
+    /**
+     * Returns the histogram of the expiry lag. The element at index <code>0</code> counts lags of
+     * <code>0</code> ms, and the element at index <code>i</code> counts lags in
+     * <code>[2^(i-1), 2^i)</code> ms. The last element also counts all longer lags.
+     *
+     * @return the counts of each bucket
+     */
+    long[] getExpiryLagHistogram();
+}
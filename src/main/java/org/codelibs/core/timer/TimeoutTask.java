@@ -41,9 +41,36 @@ public class TimeoutTask {
 
     private volatile int status = ACTIVE;
 
-    TimeoutTask(final TimeoutTarget timeoutTarget, final int timeout, final boolean permanent) {
+    /**
+     * The {@link TimeoutManager} with which this task is registered, or <code>null</code>.
+     * Written by the manager under its monitor and read without a lock by {@link #cancel()},
+     * {@link #stop()} and {@link #restart()}.
+     */
+    volatile TimeoutManager timeoutManager;
+
+    /**
+     * The bucket of the {@link TimerWheel} holding this task.
+     */
+    TimerWheel.Bucket bucket;
+
+    /**
+     * The previous task in the bucket.
+     */
+    TimeoutTask prev;
+
+    /**
+     * The next task in the bucket.
+     */
+    TimeoutTask next;
+
+    /**
+     * The tick at which this task is due.
+     */
+    long deadlineTick;
+
+    TimeoutTask(final TimeoutTarget timeoutTarget, final long timeoutMillis, final boolean permanent) {
         this.timeoutTarget = timeoutTarget;
-        this.timeoutMillis = timeout * 1000L;
+        this.timeoutMillis = timeoutMillis;
         this.permanent = permanent;
         this.startTime = System.currentTimeMillis();
     }
@@ -54,7 +81,20 @@ public class TimeoutTask {
      * @return whether the task has expired
      */
     public boolean isExpired() {
-        return System.currentTimeMillis() >= startTime + timeoutMillis;
+        return System.currentTimeMillis() >= getDeadline();
+    }
+
+    /**
+     * Returns the timeout in milliseconds.
+     *
+     * @return the timeout in milliseconds
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    long getDeadline() {
+        return startTime + timeoutMillis;
     }
 
     /**
@@ -80,6 +120,10 @@ public class TimeoutTask {
      */
     public void cancel() {
         status = CANCELED;
+        final TimeoutManager manager = timeoutManager;
+        if (manager != null) {
+            manager.cancel(this);
+        }
     }
 
     /**
@@ -99,6 +143,10 @@ public class TimeoutTask {
             throw new ClIllegalStateException(String.valueOf(status));
         }
         status = STOPPED;
+        final TimeoutManager manager = timeoutManager;
+        if (manager != null) {
+            manager.park(this);
+        }
     }
 
     /**
@@ -107,6 +155,10 @@ public class TimeoutTask {
     public void restart() {
         status = ACTIVE;
         startTime = System.currentTimeMillis();
+        final TimeoutManager manager = timeoutManager;
+        if (manager != null) {
+            manager.schedule(this);
+        }
     }
 
     void expired() {
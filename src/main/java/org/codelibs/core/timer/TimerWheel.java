@@ -0,0 +1,356 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.timer;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical hashed timing wheel holding {@link TimeoutTask}s.
+ * <p>
+ * Each level has {@value #WHEEL_SIZE} buckets. A bucket on level {@code n} covers
+ * {@code WHEEL_SIZE^n} ticks, and tasks are cascaded down to a finer level as their deadline
+ * approaches. Buckets are intrusive doubly-linked lists threaded through the tasks themselves,
+ * so adding, removing and expiring a task are O(1).
+ * </p>
+ * <p>
+ * Tasks that are registered but must not fire (stopped tasks, or permanent tasks whose target
+ * is running) are kept in a separate idle bucket so that they are still counted.
+ * </p>
+ * <p>
+ * This class is not thread-safe. {@link TimeoutManager} guards it with its own monitor.
+ * </p>
+ *
+ * @author shinsuke
+ */
+class TimerWheel {
+
+    /**
+     * The number of bits used to index the buckets of a level.
+     */
+    static final int WHEEL_BITS = 6;
+
+    /**
+     * The number of buckets in a level.
+     */
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final long tickMillis;
+
+    private final int levels;
+
+    private final long maxSpan;
+
+    private final Bucket[][] wheel;
+
+    private final Bucket idle = new Bucket();
+
+    private long currentTick;
+
+    private long cascadedTick = -1L;
+
+    private int scheduledCount;
+
+    private int size;
+
+    /**
+     * Creates a {@link TimerWheel}.
+     *
+     * @param tickMillis the duration of a tick in milliseconds
+     * @param levels the number of levels
+     * @param now the current time in milliseconds
+     */
+    TimerWheel(final long tickMillis, final int levels, final long now) {
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.maxSpan = 1L << WHEEL_BITS * levels;
+        wheel = new Bucket[levels][WHEEL_SIZE];
+        for (int i = 0; i < levels; i++) {
+            for (int j = 0; j < WHEEL_SIZE; j++) {
+                wheel[i][j] = new Bucket();
+            }
+        }
+        currentTick = now / tickMillis;
+    }
+
+    /**
+     * Returns the number of tasks held by this wheel, including idle ones.
+     *
+     * @return the number of tasks
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this wheel holds no task.
+     *
+     * @return whether this wheel holds no task
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns whether the task is held by this wheel.
+     *
+     * @param task the task
+     * @return whether the task is held by this wheel
+     */
+    boolean contains(final TimeoutTask task) {
+        return task.bucket != null;
+    }
+
+    /**
+     * Schedules the task to fire at its deadline. If it is already held, it is moved.
+     * <p>
+     * The wheel is not advanced while no task is scheduled, so the current tick is moved up to
+     * the current time before the first task is placed.
+     * </p>
+     *
+     * @param task the task
+     * @param now the current time in milliseconds
+     */
+    void schedule(final TimeoutTask task, final long now) {
+        unlink(task);
+        if (scheduledCount == 0) {
+            currentTick = now / tickMillis;
+            cascadedTick = -1L;
+        }
+        task.deadlineTick = task.getDeadline() / tickMillis;
+        place(task);
+    }
+
+    /**
+     * Keeps the task registered without scheduling it.
+     *
+     * @param task the task
+     */
+    void park(final TimeoutTask task) {
+        unlink(task);
+        link(idle, task);
+    }
+
+    /**
+     * Removes the task from this wheel.
+     *
+     * @param task the task
+     */
+    void remove(final TimeoutTask task) {
+        unlink(task);
+    }
+
+    /**
+     * Removes all tasks from this wheel.
+     *
+     * @param callback called for each removed task
+     */
+    void clear(final Consumer<TimeoutTask> callback) {
+        for (final Bucket[] buckets : wheel) {
+            for (final Bucket bucket : buckets) {
+                drain(bucket, callback);
+            }
+        }
+        drain(idle, callback);
+    }
+
+    /**
+     * Advances the wheel up to the current time and collects the expired tasks. The expired
+     * tasks are removed from this wheel. The current tick is kept until it is over, so a task
+     * fires as soon as its deadline has passed.
+     *
+     * @param now the current time in milliseconds
+     * @param expired the list to which the expired tasks are added
+     */
+    void expire(final long now, final List<TimeoutTask> expired) {
+        final long targetTick = now / tickMillis;
+        while (currentTick <= targetTick) {
+            if (scheduledCount == 0) {
+                currentTick = targetTick;
+                return;
+            }
+            final long tick = currentTick;
+            if (cascadedTick != tick) {
+                for (int level = levels - 1; level > 0; level--) {
+                    final int shift = WHEEL_BITS * level;
+                    if ((tick & (1L << shift) - 1) == 0) {
+                        cascade(wheel[level][(int) (tick >>> shift) & WHEEL_MASK]);
+                    }
+                }
+                cascadedTick = tick;
+            }
+            final Bucket bucket = wheel[0][(int) tick & WHEEL_MASK];
+            TimeoutTask task = bucket.head;
+            bucket.clear();
+            while (task != null) {
+                final TimeoutTask next = task.next;
+                detached(task);
+                if (task.getDeadline() <= now) {
+                    expired.add(task);
+                } else {
+                    // the current tick is not over yet
+                    place(task);
+                }
+                task = next;
+            }
+            if (tick == targetTick) {
+                return;
+            }
+            currentTick = tick + 1;
+        }
+    }
+
+    /**
+     * Returns the earliest time at which {@link #expire(long, List)} has work to do: the earliest
+     * deadline in the nearest bucket of the finest level, or the time at which a coarser level has
+     * to be cascaded.
+     * <p>
+     * The earliest deadline of a bucket is tracked as tasks are added and is not raised when a task
+     * is removed, so the returned time may be earlier than needed until the bucket is expired.
+     * </p>
+     *
+     * @return the time in milliseconds, or {@link Long#MAX_VALUE} if no task is scheduled
+     */
+    long nextExpiration() {
+        if (scheduledCount == 0) {
+            return Long.MAX_VALUE;
+        }
+        long next = Long.MAX_VALUE;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            final Bucket bucket = wheel[0][(int) (currentTick + i) & WHEEL_MASK];
+            if (bucket.head != null) {
+                next = bucket.minDeadline;
+                break;
+            }
+        }
+        for (int level = 1; level < levels; level++) {
+            final int shift = WHEEL_BITS * level;
+            final long block = currentTick >>> shift;
+            // the bucket of the current block is still pending if the current tick starts it
+            final int start = (currentTick & (1L << shift) - 1) == 0 && cascadedTick != currentTick ? 0 : 1;
+            for (int i = start; i <= WHEEL_SIZE; i++) {
+                if (wheel[level][(int) (block + i) & WHEEL_MASK].head != null) {
+                    next = Math.min(next, (block + i << shift) * tickMillis);
+                    break;
+                }
+            }
+        }
+        return next;
+    }
+
+    private void cascade(final Bucket bucket) {
+        TimeoutTask task = bucket.head;
+        bucket.clear();
+        while (task != null) {
+            final TimeoutTask next = task.next;
+            detached(task);
+            place(task);
+            task = next;
+        }
+    }
+
+    private void place(final TimeoutTask task) {
+        long deadlineTick = Math.max(task.deadlineTick, currentTick);
+        final long delta = deadlineTick - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << WHEEL_BITS * (level + 1)) {
+            level++;
+        }
+        if (delta >= maxSpan) {
+            // beyond the top level; it is placed again when cascaded
+            deadlineTick = currentTick + maxSpan - 1;
+        }
+        link(wheel[level][(int) (deadlineTick >>> WHEEL_BITS * level) & WHEEL_MASK], task);
+        scheduledCount++;
+    }
+
+    private void link(final Bucket bucket, final TimeoutTask task) {
+        task.bucket = bucket;
+        task.prev = bucket.tail;
+        task.next = null;
+        if (bucket.tail == null) {
+            bucket.head = task;
+        } else {
+            bucket.tail.next = task;
+        }
+        bucket.tail = task;
+        bucket.minDeadline = Math.min(bucket.minDeadline, task.getDeadline());
+        size++;
+    }
+
+    private void unlink(final TimeoutTask task) {
+        final Bucket bucket = task.bucket;
+        if (bucket == null) {
+            return;
+        }
+        if (task.prev == null) {
+            bucket.head = task.next;
+        } else {
+            task.prev.next = task.next;
+        }
+        if (task.next == null) {
+            bucket.tail = task.prev;
+        } else {
+            task.next.prev = task.prev;
+        }
+        if (bucket.head == null) {
+            bucket.minDeadline = Long.MAX_VALUE;
+        }
+        detached(task);
+    }
+
+    private void detached(final TimeoutTask task) {
+        if (task.bucket != idle) {
+            scheduledCount--;
+        }
+        task.bucket = null;
+        task.prev = null;
+        task.next = null;
+        size--;
+    }
+
+    private void drain(final Bucket bucket, final Consumer<TimeoutTask> callback) {
+        TimeoutTask task = bucket.head;
+        bucket.clear();
+        while (task != null) {
+            final TimeoutTask next = task.next;
+            detached(task);
+            callback.accept(task);
+            task = next;
+        }
+    }
+
+    /**
+     * A list of tasks in a slot of the wheel.
+     */
+    static final class Bucket {
+
+        TimeoutTask head;
+
+        TimeoutTask tail;
+
+        /** The earliest deadline of the tasks added since the bucket was last empty */
+        long minDeadline = Long.MAX_VALUE;
+
+        void clear() {
+            head = null;
+            tail = null;
+            minDeadline = Long.MAX_VALUE;
+        }
+    }
+}
@@ -19,8 +19,11 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
 
 import org.codelibs.core.beans.BeanDesc;
+import org.codelibs.core.beans.factory.BeanDescFactory.CacheMode;
+import org.codelibs.core.exception.ClIllegalArgumentException;
 import org.junit.Test;
 
 /**
@@ -47,6 +50,73 @@ public class BeanDescFactoryTest {
         assertThat(BeanDescFactory.getBeanDesc(MyBean.class), is(not(sameInstance(beanDesc))));
     }
 
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testStatistics() throws Exception {
+        BeanDescFactory.setCacheMode(CacheMode.UNBOUNDED);
+        try {
+            BeanDescFactory.getBeanDesc(MyBean.class);
+            BeanDescFactory.getBeanDesc(MyBean.class);
+            BeanDescFactory.getBeanDesc(MyBean2.class);
+            assertThat(BeanDescFactory.getMissCount(), is(2L));
+            assertThat(BeanDescFactory.getHitCount(), is(1L));
+        } finally {
+            BeanDescFactory.setCacheMode(CacheMode.UNBOUNDED);
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testBoundedCache() throws Exception {
+        BeanDescFactory.setCacheMode(CacheMode.BOUNDED, 1);
+        try {
+            assertThat(BeanDescFactory.getCacheMode(), is(CacheMode.BOUNDED));
+            final BeanDesc beanDesc = BeanDescFactory.getBeanDesc(MyBean.class);
+            assertThat(BeanDescFactory.getBeanDesc(MyBean.class), is(sameInstance(beanDesc)));
+            BeanDescFactory.getBeanDesc(MyBean2.class);
+            assertThat(BeanDescFactory.getBeanDesc(MyBean.class), is(not(sameInstance(beanDesc))));
+            assertThat(BeanDescFactory.getMissCount(), is(3L));
+        } finally {
+            BeanDescFactory.setCacheMode(CacheMode.UNBOUNDED);
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testClassValueCache() throws Exception {
+        BeanDescFactory.setCacheMode(CacheMode.CLASS_VALUE);
+        try {
+            assertThat(BeanDescFactory.getCacheMode(), is(CacheMode.CLASS_VALUE));
+            final BeanDesc beanDesc = BeanDescFactory.getBeanDesc(MyBean.class);
+            assertThat(BeanDescFactory.getBeanDesc(MyBean.class), is(sameInstance(beanDesc)));
+            assertThat(BeanDescFactory.getHitCount(), is(1L));
+            BeanDescFactory.clear();
+            assertThat(BeanDescFactory.getBeanDesc(MyBean.class), is(not(sameInstance(beanDesc))));
+        } finally {
+            BeanDescFactory.setCacheMode(CacheMode.UNBOUNDED);
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testSetCacheMode_invalidSize() throws Exception {
+        assertThrows(ClIllegalArgumentException.class, () -> BeanDescFactory.setCacheMode(CacheMode.BOUNDED, 0));
+    }
+
+    /**
+     *
+     */
+    public static class MyBean2 {
+    }
+
     /**
      *
      */
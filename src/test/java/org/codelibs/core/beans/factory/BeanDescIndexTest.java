@@ -0,0 +1,222 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.beans.factory;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.codelibs.core.beans.BeanDesc;
+import org.codelibs.core.beans.PropertyDesc;
+import org.codelibs.core.beans.impl.BeanDescImpl;
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class BeanDescIndexTest {
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testWriteAndParse() throws Exception {
+        final Map<String, BeanDescIndex.Entry> index = createIndex(MyBean.class);
+        final BeanDescIndex.Entry entry = index.get(MyBean.class.getName());
+        assertThat(entry, is(notNullValue()));
+        assertThat(entry.getProperties().size(), is(3));
+        assertThat(entry.getFields().size(), is(5));
+        assertThat(entry.getFingerprint(), is(BeanDescIndex.fingerprint(MyBean.class)));
+        assertThat(entry.getFingerprint().startsWith(MyBean.class.getName() + "="), is(true));
+        assertThat(entry.getFingerprint().contains("," + MyParent.class.getName() + "="), is(true));
+
+        final BeanDesc expected = new BeanDescImpl(MyBean.class);
+        final BeanDesc actual = new BeanDescImpl(MyBean.class, entry);
+        assertThat(actual.getPropertyDescSize(), is(expected.getPropertyDescSize()));
+        for (int i = 0; i < expected.getPropertyDescSize(); i++) {
+            final PropertyDesc e = expected.getPropertyDesc(i);
+            final PropertyDesc a = actual.getPropertyDesc(i);
+            assertThat(a.getPropertyName(), is(e.getPropertyName()));
+            assertThat(a.getPropertyType() == e.getPropertyType(), is(true));
+            assertThat(a.getReadMethod(), is(e.getReadMethod()));
+            assertThat(a.getWriteMethod(), is(e.getWriteMethod()));
+            assertThat(a.getField(), is(e.getField()));
+        }
+        assertThat(actual.getFieldDescSize(), is(expected.getFieldDescSize()));
+        for (int i = 0; i < expected.getFieldDescSize(); i++) {
+            assertThat(actual.getFieldDesc(i).getField(), is(expected.getFieldDesc(i).getField()));
+        }
+
+        final MyBean bean = new MyBean();
+        actual.getPropertyDesc("aaa").setValue(bean, "a");
+        actual.getPropertyDesc("ccc").setValue(bean, 3);
+        actual.getPropertyDesc("ddd").setValue(bean, "d");
+        assertThat(actual.getPropertyDesc("aaa").getValue(bean), is("a"));
+        assertThat(bean.ccc, is(3));
+        assertThat(bean.ddd, is("d"));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testStaleEntry() throws Exception {
+        final String text = "class\t" + MyBean.class.getName() + "\t" + BeanDescIndex.fingerprint(MyBean.class) + "\n" //
+                + "property\taaa\tjava.lang.String\tgetAaa\tsetAaa\n" //
+                + "property\tzzz\tjava.lang.String\tgetZzz\t-\n" //
+                + "field\taaa\t" + MyBean.class.getName() + "\n";
+        final Map<String, BeanDescIndex.Entry> index = new HashMap<>();
+        BeanDescIndex.parse(new BufferedReader(new StringReader(text)), index);
+
+        final BeanDesc beanDesc = new BeanDescImpl(MyBean.class, index.get(MyBean.class.getName()));
+        assertThat(beanDesc.hasPropertyDesc("zzz"), is(false));
+        assertThat(beanDesc.getPropertyDescSize(), is(new BeanDescImpl(MyBean.class).getPropertyDescSize()));
+        assertThat(beanDesc.hasFieldDesc("ddd"), is(true));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testRemoveStaleEntries() throws Exception {
+        final Map<String, BeanDescIndex.Entry> index = createIndex(MyBean.class, MyExtendedBean.class);
+        BeanDescIndex.removeStaleEntries(getClass().getClassLoader(), index);
+        assertThat(index.size(), is(2));
+
+        // the class files differ from those the index was generated from
+        final String text = "class\t" + MyExtendedBean.class.getName() + "\t" + BeanDescIndex.fingerprint(MyBean.class) + "\n" //
+                + "class\t" + MyBean.class.getName() + "\t" + MyBean.class.getName() + "=0\n" //
+                + "class\t" + MyParent.class.getName() + "\t-\n";
+        index.clear();
+        BeanDescIndex.parse(new BufferedReader(new StringReader(text)), index);
+        assertThat(index.size(), is(3));
+        BeanDescIndex.removeStaleEntries(getClass().getClassLoader(), index);
+        assertThat(index.isEmpty(), is(true));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testSetupDescsByIndex_indexedMembersOnly() throws Exception {
+        // the entry is trusted as it is, so members that are not indexed are not introspected
+        final String text = "class\t" + MyBean.class.getName() + "\t" + BeanDescIndex.fingerprint(MyBean.class) + "\n" //
+                + "property\taaa\tjava.lang.String\tgetAaa\tsetAaa\n";
+        final Map<String, BeanDescIndex.Entry> index = new HashMap<>();
+        BeanDescIndex.parse(new BufferedReader(new StringReader(text)), index);
+        BeanDescIndex.removeStaleEntries(getClass().getClassLoader(), index);
+
+        final BeanDesc beanDesc = new BeanDescImpl(MyBean.class, index.get(MyBean.class.getName()));
+        assertThat(beanDesc.getPropertyDescSize(), is(1));
+        assertThat(beanDesc.hasPropertyDesc("aaa"), is(true));
+        assertThat(beanDesc.hasPropertyDesc("ddd"), is(false));
+        assertThat(beanDesc.getFieldDescSize(), is(0));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGetEntry_notIndexed() throws Exception {
+        assertThat(BeanDescIndex.getEntry(MyBean.class), is(nullValue()));
+        assertThat(BeanDescIndex.getEntry(String.class), is(nullValue()));
+    }
+
+    private static Map<String, BeanDescIndex.Entry> createIndex(final Class<?>... classes) throws Exception {
+        final StringWriter writer = new StringWriter();
+        BeanDescIndex.write(writer, classes);
+        final Map<String, BeanDescIndex.Entry> index = new HashMap<>();
+        BeanDescIndex.parse(new BufferedReader(new StringReader(writer.toString())), index);
+        return index;
+    }
+
+    /**
+     *
+     */
+    public static class MyParent {
+
+        /** */
+        public static final String CONSTANT = "c";
+
+        /** */
+        public int ccc;
+    }
+
+    /**
+     *
+     */
+    public static class MyBean extends MyParent {
+
+        private String aaa;
+
+        private String bbb;
+
+        /** */
+        public String ddd;
+
+        /**
+         * @return aaa
+         */
+        public String getAaa() {
+            return aaa;
+        }
+
+        /**
+         * @param aaa
+         *            aaa
+         */
+        public void setAaa(final String aaa) {
+            this.aaa = aaa;
+        }
+
+        /**
+         * @param bbb
+         *            bbb
+         */
+        public void setBbb(final String bbb) {
+            this.bbb = bbb;
+        }
+
+        /**
+         * @return ddd
+         */
+        public String getDdd() {
+            return ddd;
+        }
+    }
+
+    /**
+     *
+     */
+    public static class MyExtendedBean extends MyBean {
+
+        private String eee;
+
+        /**
+         * @return eee
+         */
+        public String getEee() {
+            return eee;
+        }
+    }
+}
@@ -20,16 +20,23 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertThrows;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.codelibs.core.beans.BeanDesc;
+import org.codelibs.core.beans.ConstructorDesc;
 import org.codelibs.core.beans.FieldDesc;
 import org.codelibs.core.beans.MethodDesc;
 import org.codelibs.core.beans.ParameterizedClassDesc;
@@ -78,6 +85,57 @@ public class BeanDescImplTest {
         assertThat(beanDesc.hasPropertyDesc("iii"), is(not(true)));
     }
 
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testLazyIntrospection() throws Exception {
+        final BeanDescImpl beanDesc = new BeanDescImpl(MyBean.class);
+        assertThat(beanDesc.propertyDescCache.isEmpty(), is(true));
+        assertThat(beanDesc.fieldDescCache.isEmpty(), is(true));
+        assertThat(beanDesc.constructorDescs.isEmpty(), is(true));
+        assertThat(beanDesc.methodDescsCache.isEmpty(), is(true));
+
+        assertThat(beanDesc.hasPropertyDesc("aaa"), is(true));
+        assertThat(beanDesc.propertyDescCache.isEmpty(), is(not(true)));
+        assertThat(beanDesc.fieldDescCache.isEmpty(), is(not(true)));
+        assertThat(beanDesc.constructorDescs.isEmpty(), is(true));
+        assertThat(beanDesc.methodDescsCache.isEmpty(), is(true));
+
+        assertThat(beanDesc.getConstructorDescSize(), is(1));
+        assertThat(beanDesc.methodDescsCache.isEmpty(), is(true));
+
+        assertThat(beanDesc.hasMethodDesc("getAaa"), is(true));
+        assertThat(beanDesc.getPropertyDescSize(), is(5));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testLazyIntrospection_concurrent() throws Exception {
+        final BeanDesc beanDesc = new BeanDescImpl(MyBean.class);
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return beanDesc.getPropertyDescSize() + beanDesc.getFieldDescSize() + beanDesc.getMethodNames().length;
+                }));
+            }
+            start.countDown();
+            final int expected = beanDesc.getPropertyDescSize() + beanDesc.getFieldDescSize() + beanDesc.getMethodNames().length;
+            for (final Future<Integer> future : futures) {
+                assertThat(future.get(), is(expected));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     /**
      * @throws Exception
      */
@@ -159,6 +217,41 @@ public class BeanDescImplTest {
         assertThat(args[1], is((Object) "notanumber"));
     }
 
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGetSuitableMethodDesc_dispatchCache() throws Exception {
+        final BeanDescImpl beanDesc = new BeanDescImpl(MyBean.class);
+        final MethodDesc methodDesc = beanDesc.getSuitableMethodDesc("add", 1, 2);
+        assertThat(beanDesc.getSuitableMethodDesc("add", 3, 4), is(sameInstance(methodDesc)));
+        assertThat(beanDesc.dispatchCache.size(), is(1));
+
+        final Object[] args = { "1", "2" };
+        assertThat(beanDesc.getSuitableMethodDesc("add2", args).getMethodName(), is("add2"));
+        assertThat(args[0], is((Object) 1));
+        assertThat(beanDesc.dispatchCache.size(), is(2));
+
+        final Object[] args2 = { "3", "4" };
+        assertThat(beanDesc.getSuitableMethodDesc("add2", args2).getMethodName(), is("add2"));
+        assertThat(args2[1], is((Object) 4));
+        assertThrows(MethodNotFoundRuntimeException.class, () -> beanDesc.getSuitableMethodDesc("add2", "x", "4"));
+        assertThat(beanDesc.dispatchCache.size(), is(2));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGetSuitableConstructorDesc_dispatchCache() throws Exception {
+        final BeanDescImpl beanDesc = new BeanDescImpl(Integer.class);
+        final ConstructorDesc constructorDesc = beanDesc.getSuitableConstructorDesc(10);
+        assertThat(beanDesc.getSuitableConstructorDesc(20), is(sameInstance(constructorDesc)));
+        assertThat((Integer) beanDesc.newInstance(new BigDecimal(10)), is(10));
+        assertThat((Integer) beanDesc.newInstance(new BigDecimal(20)), is(20));
+        assertThat(beanDesc.dispatchCache.size(), is(2));
+    }
+
     /**
      * @throws Exception
      */
@@ -20,6 +20,7 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 import java.math.BigDecimal;
 import java.net.URL;
@@ -33,6 +34,7 @@ import org.codelibs.core.beans.factory.BeanDescFactory;
 import org.codelibs.core.beans.impl.sub.MogeBean;
 import org.codelibs.core.beans.impl.sub.MogeBeanFactory;
 import org.codelibs.core.exception.IllegalPropertyRuntimeException;
+import org.codelibs.core.exception.InvocationTargetRuntimeException;
 import org.junit.Test;
 
 /**
@@ -236,6 +238,45 @@ public class PropertyDescImplTest {
         assertThat((String) propDesc.getValue(moge), is("moge"));
     }
 
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testPublicField() throws Exception {
+        final MyBean myBean = new MyBean();
+        final BeanDesc beanDesc = new BeanDescImpl(MyBean.class);
+        final PropertyDesc propDesc = beanDesc.getPropertyDesc("str");
+        propDesc.setValue(myBean, 1);
+        assertThat(myBean.str, is("1"));
+        assertThat((String) propDesc.getValue(myBean), is("1"));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGetValue_checkedException() throws Exception {
+        final BeanDesc beanDesc = new BeanDescImpl(ThrowingBean.class);
+        final PropertyDesc propDesc = beanDesc.getPropertyDesc("aaa");
+        try {
+            propDesc.getValue(new ThrowingBean());
+            fail();
+        } catch (final IllegalPropertyRuntimeException e) {
+            assertThat(e.getCause() instanceof InvocationTargetRuntimeException, is(true));
+            assertThat(e.getCause().getCause() instanceof java.io.IOException, is(true));
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test(expected = IllegalPropertyRuntimeException.class)
+    public void testGetValue_illegalTarget() throws Exception {
+        final BeanDesc beanDesc = new BeanDescImpl(MyBean.class);
+        final PropertyDesc propDesc = beanDesc.getPropertyDesc("fff");
+        propDesc.getValue("foo");
+    }
+
     /**
      *
      */
@@ -403,6 +444,20 @@ public class PropertyDescImplTest {
         }
     }
 
+    /**
+     *
+     */
+    public static class ThrowingBean {
+
+        /**
+         * @return String
+         * @throws java.io.IOException
+         */
+        public String getAaa() throws java.io.IOException {
+            throw new java.io.IOException("aaa");
+        }
+    }
+
     /**
      *
      */
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.beans.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Date;
+
+import org.codelibs.core.beans.factory.BeanDescFactory;
+import org.codelibs.core.misc.DisposableUtil;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class BeanCopyPlanTest {
+
+    /**
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        DisposableUtil.dispose();
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGetPlan() throws Exception {
+        final BeanCopyPlan plan = BeanCopyPlan.getPlan(MyBean.class, MyBean.class, new CopyOptions());
+        assertThat(BeanCopyPlan.getPlan(MyBean.class, MyBean.class, new CopyOptions().excludeNull()), is(sameInstance(plan)));
+        assertThat(BeanCopyPlan.getPlan(MyBean.class, MyBean.class, new CopyOptions().include("aaa")), is(not(sameInstance(plan))));
+        assertThat(BeanCopyPlan.getCacheSize(MyBean.class), is(2));
+        DisposableUtil.dispose();
+        assertThat(BeanCopyPlan.getCacheSize(MyBean.class), is(0));
+
+        final BeanCopyPlan plan2 = BeanCopyPlan.getPlan(MyBean.class, MyBean.class, new CopyOptions());
+        assertThat(plan2, is(not(sameInstance(plan))));
+        BeanDescFactory.clear();
+        assertThat(BeanCopyPlan.getPlan(MyBean.class, MyBean.class, new CopyOptions()), is(not(sameInstance(plan2))));
+        assertThat(BeanCopyPlan.getCacheSize(MyBean.class), is(1));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testCopy() throws Exception {
+        final MyBean src = new MyBean();
+        src.aaa = "a";
+        src.bbb = "b";
+        MyBean dest = new MyBean();
+        BeanUtil.copyBeanToBean(src, dest, o -> o.exclude("bbb"));
+        assertThat(dest.aaa, is("a"));
+        assertThat(dest.bbb, is(nullValue()));
+        dest = new MyBean();
+        BeanUtil.copyBeanToBean(src, dest, o -> o.exclude("aaa"));
+        assertThat(dest.aaa, is(nullValue()));
+        assertThat(dest.bbb, is("b"));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testCopy_defaultConverter() throws Exception {
+        final DateBean orig = new DateBean();
+        orig.date = new Date(1262401445000L);
+        final StringDateBean src = new StringDateBean();
+        BeanUtil.copyBeanToBean(orig, src);
+        assertThat(src.date, is(not(nullValue())));
+        final DateBean dest = new DateBean();
+        BeanUtil.copyBeanToBean(src, dest);
+        final DateBean expected = new DateBean();
+        BeanUtil.copyBeanToBean(src, expected, new CopyOptions() {
+        });
+        assertThat(dest.date, is(expected.date));
+        assertThat(dest.date, is(orig.date));
+    }
+
+    /**
+     *
+     */
+    public static class StringDateBean {
+
+        /**
+         *
+         */
+        public String date;
+    }
+
+    /**
+     *
+     */
+    public static class DateBean {
+
+        /**
+         *
+         */
+        public Date date;
+    }
+
+}
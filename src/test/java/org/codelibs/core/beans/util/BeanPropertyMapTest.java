@@ -0,0 +1,151 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.beans.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.codelibs.core.exception.ClUnsupportedOperationException;
+import org.codelibs.core.exception.IllegalKeyOfBeanMapException;
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class BeanPropertyMapTest {
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGet() throws Exception {
+        final MyBean bean = new MyBean();
+        bean.setAaa("a");
+        final Map<String, Object> map = BeanUtil.asMap(bean);
+        assertThat(map.size(), is(3));
+        assertThat(map.get("aaa"), is((Object) "a"));
+        assertThat(map.get("bbb"), is((Object) 0));
+        assertThat(map.get("ccc"), is((Object) "c"));
+        assertThat(map.get("AAA"), is(nullValue()));
+        assertThat(map.get("ddd"), is(nullValue()));
+        assertThat(map.containsKey("aaa"), is(true));
+        assertThat(map.containsKey("ddd"), is(false));
+        assertThat(map.containsKey(1), is(false));
+
+        bean.setAaa("b");
+        assertThat(map.get("aaa"), is((Object) "b"));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testPut() throws Exception {
+        final MyBean bean = new MyBean();
+        final Map<String, Object> map = BeanUtil.asMap(bean);
+        assertThat(map.put("aaa", "a"), is(nullValue()));
+        assertThat(bean.getAaa(), is("a"));
+        assertThat(map.put("bbb", 3), is((Object) 0));
+        assertThat(bean.getBbb(), is(3));
+        assertThrows(ClUnsupportedOperationException.class, () -> map.put("ccc", "x"));
+        assertThrows(IllegalKeyOfBeanMapException.class, () -> map.put("ddd", "x"));
+        assertThrows(IllegalKeyOfBeanMapException.class, () -> map.put("xxx", "x"));
+        assertThrows(ClUnsupportedOperationException.class, () -> map.remove("aaa"));
+        assertThrows(ClUnsupportedOperationException.class, () -> map.clear());
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testEntrySet() throws Exception {
+        final MyBean bean = new MyBean();
+        bean.setAaa("a");
+        final Map<String, Object> map = BeanUtil.asMap(bean);
+        final List<String> keys = new ArrayList<>(map.keySet());
+        keys.sort(null);
+        assertThat(keys, is(Arrays.asList("aaa", "bbb", "ccc")));
+
+        for (final Map.Entry<String, Object> entry : map.entrySet()) {
+            if ("bbb".equals(entry.getKey())) {
+                entry.setValue(5);
+            }
+        }
+        assertThat(bean.getBbb(), is(5));
+        assertThat(map, is(BeanUtil.copyBeanToNewMap(bean)));
+    }
+
+    /**
+     *
+     */
+    public static class MyBean {
+
+        private String aaa;
+
+        private int bbb;
+
+        /**
+         * @return aaa
+         */
+        public String getAaa() {
+            return aaa;
+        }
+
+        /**
+         * @param aaa
+         *            aaa
+         */
+        public void setAaa(final String aaa) {
+            this.aaa = aaa;
+        }
+
+        /**
+         * @return bbb
+         */
+        public int getBbb() {
+            return bbb;
+        }
+
+        /**
+         * @param bbb
+         *            bbb
+         */
+        public void setBbb(final int bbb) {
+            this.bbb = bbb;
+        }
+
+        /**
+         * @return ccc
+         */
+        public String getCcc() {
+            return "c";
+        }
+
+        /**
+         * @param ddd
+         *            ddd
+         */
+        public void setDdd(final String ddd) {
+        }
+    }
+}
@@ -28,9 +28,12 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.codelibs.core.beans.converter.DateConverter;
 import org.codelibs.core.beans.converter.NumberConverter;
@@ -70,6 +73,90 @@ public class BeanUtilTest {
         assertThat(dest.getDdd(), is("ddd"));
     }
 
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testCopy_BeansToNewBeans() throws Exception {
+        final List<MyClass> srcs = new ArrayList<MyClass>();
+        for (int i = 0; i < 3; i++) {
+            final MyClass src = new MyClass();
+            src.setAaa("a" + i);
+            src.setBbb("b" + i);
+            srcs.add(src);
+        }
+        List<MyClass2> dests = BeanUtil.copyBeansToNewBeans(srcs, MyClass2.class);
+        assertThat(dests.size(), is(3));
+        assertThat(dests.get(2).getAaa(), is("a2"));
+        assertThat(dests.get(2).getBbb(), is("b2"));
+
+        dests = BeanUtil.copyBeansToNewBeans(srcs, MyClass2.class, o -> o.exclude("bbb"));
+        assertThat(dests.get(1).getAaa(), is("a1"));
+        assertThat(dests.get(1).getBbb(), is(nullValue()));
+
+        final FrozenCopyOptions options = CopyOptionsUtil.exclude("aaa").freeze();
+        dests = BeanUtil.copyBeansToNewBeans(srcs.toArray(), MyClass2.class, options);
+        assertThat(dests.get(0).getAaa(), is(nullValue()));
+        assertThat(dests.get(0).getBbb(), is("b0"));
+        dests = BeanUtil.copyBeansToNewBeans(srcs.stream(), MyClass2.class, options).collect(Collectors.toList());
+        assertThat(dests.get(1).getBbb(), is("b1"));
+
+        dests = BeanUtil.copyBeansToNewBeans(srcs.toArray(), MyClass2.class);
+        assertThat(dests.get(2).getAaa(), is("a2"));
+        assertThat(dests.get(2).getBbb(), is("b2"));
+        dests = BeanUtil.copyBeansToNewBeans(srcs.toArray(), MyClass2.class, o -> o.exclude("bbb"));
+        assertThat(dests.get(1).getAaa(), is("a1"));
+        assertThat(dests.get(1).getBbb(), is(nullValue()));
+        dests = BeanUtil.copyBeansToNewBeans(srcs.stream(), MyClass2.class).collect(Collectors.toList());
+        assertThat(dests.get(0).getAaa(), is("a0"));
+        assertThat(dests.get(0).getBbb(), is("b0"));
+        dests = BeanUtil.copyBeansToNewBeans(srcs.stream(), MyClass2.class, o -> o.exclude("bbb")).collect(Collectors.toList());
+        assertThat(dests.get(2).getAaa(), is("a2"));
+        assertThat(dests.get(2).getBbb(), is(nullValue()));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testCopy_BeansToNewBeans_parallel() throws Exception {
+        final List<Object> srcs = new ArrayList<Object>();
+        for (int i = 0; i < BeanUtil.PARALLEL_THRESHOLD * 3; i++) {
+            if (i % 2 == 0) {
+                final MyClass src = new MyClass();
+                src.setAaa(String.valueOf(i));
+                srcs.add(src);
+            } else {
+                final MyClass2 src = new MyClass2();
+                src.setAaa(String.valueOf(i));
+                srcs.add(src);
+            }
+        }
+        final List<MyClass2> dests = BeanUtil.parallelCopyBeansToNewBeans(srcs, MyClass2.class, new CopyOptions().freeze());
+        assertThat(dests.size(), is(srcs.size()));
+        for (int i = 0; i < dests.size(); i++) {
+            assertThat(dests.get(i).getAaa(), is(String.valueOf(i)));
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testCopy_MapsToNewBeans() throws Exception {
+        final List<Map<String, Object>> srcs = new ArrayList<Map<String, Object>>();
+        for (int i = 0; i < BeanUtil.PARALLEL_THRESHOLD + 1; i++) {
+            final Map<String, Object> src = new HashMap<String, Object>();
+            src.put("aaa", "a" + i);
+            srcs.add(src);
+        }
+        List<MyClass> dests = BeanUtil.copyMapsToNewBeans(srcs, MyClass.class);
+        assertThat(dests.get(5).getAaa(), is("a5"));
+        dests = BeanUtil.parallelCopyMapsToNewBeans(srcs, MyClass.class, new CopyOptions().freeze());
+        assertThat(dests.size(), is(srcs.size()));
+        assertThat(dests.get(BeanUtil.PARALLEL_THRESHOLD).getAaa(), is("a" + BeanUtil.PARALLEL_THRESHOLD));
+    }
+
     /**
      * @throws Exception
      */
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.beans.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.codelibs.core.beans.converter.DateConverter;
+import org.codelibs.core.exception.ClUnsupportedOperationException;
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class FrozenCopyOptionsTest {
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testFreeze() throws Exception {
+        final CopyOptions options = new CopyOptions().include("aaa", "bbb").exclude("bbb").excludeNull();
+        final FrozenCopyOptions frozen = options.freeze();
+        assertThat(frozen.freeze(), is(sameInstance(frozen)));
+        options.include("ccc");
+        assertThat(frozen.isTargetProperty("aaa"), is(true));
+        assertThat(frozen.isTargetProperty("bbb"), is(not(true)));
+        assertThat(frozen.isTargetProperty("ccc"), is(not(true)));
+        assertThat(frozen.isTargetValue(null), is(not(true)));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testIsTargetProperty_prefix() throws Exception {
+        final FrozenCopyOptions frozen = new CopyOptions().exclude("search_bbb").prefix("search_").freeze();
+        assertThat(frozen.isTargetProperty("search_aaa"), is(true));
+        assertThat(frozen.isTargetProperty("search_bbb"), is(not(true)));
+        assertThat(frozen.isTargetProperty("aaa"), is(not(true)));
+        assertThat(frozen.trimPrefix("search_aaa"), is("aaa"));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test(expected = ClUnsupportedOperationException.class)
+    public void testImmutable() throws Exception {
+        new CopyOptions().freeze().excludeNull();
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testFindConverter() throws Exception {
+        final DateConverter converter = new DateConverter("yyyyMMdd");
+        final FrozenCopyOptions frozen = new CopyOptions().converter(converter).freeze();
+        assertThat(frozen.findConverter(Date.class), is(sameInstance((Object) converter)));
+        assertThat(frozen.findConverter(Date.class), is(sameInstance((Object) converter)));
+        assertThat(frozen.findConverter(String.class), is(nullValue()));
+        assertThat(frozen.findConverter(String.class), is(nullValue()));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testCopy() throws Exception {
+        final FrozenCopyOptions frozen = CopyOptionsUtil.exclude("bbb").freeze();
+        final MyBean src = new MyBean();
+        src.aaa = "a";
+        src.bbb = "b";
+        final MyBean dest = new MyBean();
+        BeanUtil.copyBeanToBean(src, dest, frozen);
+        assertThat(dest.aaa, is("a"));
+        assertThat(dest.bbb, is(nullValue()));
+        final Map<String, Object> map = BeanUtil.copyBeanToNewMap(src, frozen);
+        assertThat(map.size(), is(1));
+        assertThat(map.get("aaa"), is((Object) "a"));
+    }
+
+}
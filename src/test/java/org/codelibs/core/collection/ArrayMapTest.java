@@ -197,6 +197,34 @@ public class ArrayMapTest {
         assertThat(m.getAt(0), is("d"));
     }
 
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testRemove_large() throws Exception {
+        final ArrayMap<Integer, String> m = new ArrayMap<Integer, String>();
+        for (int i = 0; i < 1000; i++) {
+            m.put(i, "v" + i);
+        }
+        for (int i = 250; i < 750; i += 2) {
+            assertThat(m.remove(i), is("v" + i));
+        }
+        assertThat(m.size(), is(750));
+        int expected = 0;
+        int index = 0;
+        for (final Map.Entry<Integer, String> e : m.entrySet()) {
+            assertThat(e.getKey(), is(expected));
+            assertThat(m.getKeyAt(index), is(expected));
+            assertThat(m.get(expected), is("v" + expected));
+            expected += expected >= 249 && expected < 749 ? 2 : 1;
+            index++;
+        }
+        assertThat(expected, is(1000));
+        for (int i = 250; i < 750; i += 2) {
+            assertThat(m.containsKey(i), is(false));
+        }
+    }
+
     /**
      * @throws Exception
      */
@@ -335,6 +363,69 @@ public class ArrayMapTest {
         assertThat(map.equals(copy), is(true));
     }
 
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testRemoveWithCollisions() throws Exception {
+        ArrayMap<MyKey, String> m = new ArrayMap<MyKey, String>(4);
+        for (int i = 0; i < 10; i++) {
+            m.put(new MyKey(i), "v" + i);
+        }
+        assertThat(m.remove(new MyKey(3)), is("v3"));
+        assertThat(m.remove(new MyKey(0)), is("v0"));
+        assertThat(m.size(), is(8));
+        for (int i = 0; i < 10; i++) {
+            assertThat(m.get(new MyKey(i)), is(i == 0 || i == 3 ? null : "v" + i));
+        }
+        assertThat(m.getKeyAt(0)._key, is((Object) 1));
+        assertThat(m.getAt(1), is("v2"));
+        assertThat(m.getAt(2), is("v4"));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testRandomOperations() throws Exception {
+        final java.util.Random random = new java.util.Random(1L);
+        final ArrayMap<Integer, Integer> m = new ArrayMap<Integer, Integer>(2);
+        final Map<Integer, Integer> expected = new java.util.LinkedHashMap<Integer, Integer>();
+        for (int i = 0; i < 10000; i++) {
+            final Integer key = random.nextInt(200);
+            if (random.nextInt(3) == 0) {
+                assertThat(m.remove(key), is(expected.remove(key)));
+            } else {
+                assertThat(m.put(key, i), is(expected.put(key, i)));
+            }
+        }
+        assertThat(m.size(), is(expected.size()));
+        int index = 0;
+        for (final Map.Entry<Integer, Integer> e : expected.entrySet()) {
+            assertThat(m.getKeyAt(index), is(e.getKey()));
+            assertThat(m.getAt(index), is(e.getValue()));
+            assertThat(m.get(e.getKey()), is(e.getValue()));
+            index++;
+        }
+        assertThat(m.hashCode(), is(expected.hashCode()));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testEntrySetValue() throws Exception {
+        Map.Entry<String, String> e = map.getEntryAt(1);
+        assertThat(e.setValue("test3"), is("test"));
+        assertThat(map.get("1"), is("test3"));
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            entry.setValue("x");
+        }
+        assertThat(map.getAt(2), is("x"));
+        assertThat(map.entrySet().contains(e), is(not(true)));
+        assertThat(map.entrySet().contains(map.getEntryAt(1)), is(true));
+    }
+
     /**
      * @throws Exception
      */
@@ -140,6 +140,44 @@ public class CaseInsensitiveMapTest {
         }
     }
 
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testOriginalKey() throws Exception {
+        map.put("Three", "3");
+        assertThat(map.put("THREE", "33"), is("3"));
+        assertThat(map.getKeyAt(2), is("Three"));
+        assertThat(map.keySet().contains("three"), is(true));
+        assertThat(map.get(new StringBuilder("tHrEe")), is("33"));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testNonAsciiKey() throws Exception {
+        map.put("\u00c4rger", "a");
+        map.put("\u03a3\u03b9\u03b3\u03bc\u03b1", "sigma");
+        assertThat(map.get("\u00e4RGER"), is("a"));
+        assertThat(map.get("\u03c3\u0399\u0393\u039c\u0391"), is("sigma"));
+        assertThat(map.get("\u03c2\u03b9\u03b3\u03bc\u03b1"), is("sigma"));
+        assertThat(map.get("arger"), is(nullValue()));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testClone() throws Exception {
+        map.put("Three", "3");
+        @SuppressWarnings("unchecked")
+        final CaseInsensitiveMap<String> copy = (CaseInsensitiveMap<String>) map.clone();
+        assertThat(copy.get("THREE"), is("3"));
+        copy.put("four", "4");
+        assertThat(map.containsKey("FOUR"), is(not(true)));
+    }
+
     /**
      * @throws Exception
      */
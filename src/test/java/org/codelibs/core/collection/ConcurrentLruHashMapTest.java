@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class ConcurrentLruHashMapTest {
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testLru() throws Exception {
+        final List<String> evicted = new ArrayList<>();
+        final ConcurrentLruHashMap<String, String> lru = new ConcurrentLruHashMap<>(3, (k, v) -> evicted.add(k + "=" + v));
+        lru.put("aaa", "111");
+        lru.put("bbb", "222");
+        lru.put("ccc", "333");
+        assertThat(lru.get("aaa"), is("111"));
+        lru.put("ddd", "444");
+        assertThat(lru.size(), is(3));
+        assertThat(lru.get("bbb"), is(nullValue()));
+        assertThat(evicted.size(), is(1));
+        assertThat(evicted.get(0), is("bbb=222"));
+        assertThat(lru.getHitCount(), is(1L));
+        assertThat(lru.getMissCount(), is(1L));
+        assertThat(lru.getEvictionCount(), is(1L));
+
+        final Iterator<Map.Entry<String, String>> itr = lru.entrySet().iterator();
+        itr.next();
+        itr.remove();
+        assertThat(lru.size(), is(2));
+        lru.clear();
+        assertThat(lru.isEmpty(), is(true));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final ConcurrentLruHashMap<Integer, Integer> lru = new ConcurrentLruHashMap<>(1000);
+        assertTrue(lru.segments.length > 1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int offset = t * 10000;
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    lru.put(offset + i, i);
+                    lru.get(offset + i / 2);
+                    lru.computeIfAbsent(offset + i % 100, k -> k);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(lru.size() <= 1000);
+        assertTrue(lru.getEvictionCount() >= 80000 - 1000);
+    }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class ConcurrentLruHashSetTest {
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testAll() throws Exception {
+        final ConcurrentLruHashSet<String> set = new ConcurrentLruHashSet<>(2);
+        assertThat(set.add("aaa"), is(true));
+        assertThat(set.add("bbb"), is(true));
+        assertThat(set.add("aaa"), is(false));
+        assertThat(set.add("ccc"), is(true));
+        assertThat(set.size(), is(2));
+        assertThat(set.contains("aaa"), is(true));
+        assertThat(set.contains("bbb"), is(false));
+        assertThat(set.getEvictionCount(), is(1L));
+        assertThat(set.remove("aaa"), is(true));
+        assertThat(set.iterator().next(), is("ccc"));
+        set.clear();
+        assertThat(set.isEmpty(), is(true));
+    }
+
+}
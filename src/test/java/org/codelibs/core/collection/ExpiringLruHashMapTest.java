@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.time.Duration;
+import java.util.Iterator;
+
+import org.codelibs.core.timer.TimeoutTask;
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class ExpiringLruHashMapTest {
+
+    private long now;
+
+    private <K, V> ExpiringLruHashMap<K, V> newMap(final int limitSize, final Duration expireAfterWrite, final Duration expireAfterAccess) {
+        return new ExpiringLruHashMap<K, V>(limitSize, expireAfterWrite, expireAfterAccess) {
+            @Override
+            protected long currentTimeNanos() {
+                return now;
+            }
+        };
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testLru() throws Exception {
+        final ExpiringLruHashMap<String, String> lru = newMap(3, null, null);
+        lru.put("aaa", "111");
+        lru.put("bbb", "222");
+        lru.put("ccc", "333");
+        assertThat(lru.get("aaa"), is("111"));
+        Iterator<String> i = lru.keySet().iterator();
+        assertThat(i.next(), is("bbb"));
+        assertThat(i.next(), is("ccc"));
+        assertThat(i.next(), is("aaa"));
+        lru.put("ddd", "444");
+        assertThat(lru.size(), is(3));
+        assertThat(lru.get("bbb"), is(nullValue()));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testExpireAfterWrite() throws Exception {
+        final ExpiringLruHashMap<String, String> map = newMap(10, Duration.ofNanos(100L), null);
+        map.put("aaa", "111");
+        now = 50L;
+        map.put("bbb", "222");
+        assertThat(map.get("aaa"), is("111"));
+        now = 100L;
+        assertThat(map.get("aaa"), is(nullValue()));
+        assertThat(map.containsKey("bbb"), is(true));
+        now = 149L;
+        map.put("bbb", "333");
+        now = 200L;
+        assertThat(map.size(), is(1));
+        assertThat(map.get("bbb"), is("333"));
+        now = 249L;
+        map.put("ccc", "444");
+        assertThat(map.size(), is(1));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testExpireAfterAccess() throws Exception {
+        final ExpiringLruHashMap<String, String> map = newMap(10, null, Duration.ofNanos(100L));
+        map.put("aaa", "111");
+        map.put("bbb", "222");
+        now = 90L;
+        assertThat(map.get("aaa"), is("111"));
+        assertThat(map.containsKey("bbb"), is(true));
+        now = 100L;
+        assertThat(map.size(), is(1));
+        assertThat(map.get("bbb"), is(nullValue()));
+        now = 189L;
+        assertThat(map.get("aaa"), is("111"));
+        now = 289L;
+        map.cleanUp();
+        assertThat(map.isEmpty(), is(true));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testScheduleCleanUp() throws Exception {
+        final int[] count = new int[1];
+        final ExpiringLruHashMap<String, String> map = new ExpiringLruHashMap<String, String>(10, Duration.ofMillis(50L), null) {
+            @Override
+            public synchronized void cleanUp() {
+                count[0]++;
+                super.cleanUp();
+            }
+        };
+        map.put("aaa", "111");
+        final TimeoutTask task = map.scheduleCleanUp(Duration.ofMillis(20L));
+        try {
+            Thread.sleep(300L);
+            synchronized (map) {
+                assertThat(count[0] > 1, is(true));
+                assertThat(map.isEmpty(), is(true));
+            }
+        } finally {
+            task.cancel();
+        }
+    }
+
+}
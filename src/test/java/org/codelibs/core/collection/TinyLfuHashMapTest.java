@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class TinyLfuHashMapTest {
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testBasic() throws Exception {
+        final TinyLfuHashMap<String, String> map = new TinyLfuHashMap<>(3);
+        map.put("aaa", "111");
+        map.put("bbb", "222");
+        map.put("ccc", "333");
+        assertThat(map.size(), is(3));
+        assertThat(map.get("aaa"), is("111"));
+        assertThat(map.put("aaa", "444"), is("111"));
+        map.put("ddd", "555");
+        assertThat(map.size(), is(3));
+        assertThat(map.get("aaa"), is("444"));
+        assertThat(map.remove("aaa"), is("444"));
+        assertThat(map.get("aaa"), is(nullValue()));
+
+        final Iterator<Map.Entry<String, String>> itr = map.entrySet().iterator();
+        itr.next();
+        itr.remove();
+        assertThat(map.size(), is(1));
+        map.clear();
+        assertThat(map.isEmpty(), is(true));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testScanResistance() throws Exception {
+        final int[] evicted = new int[1];
+        final TinyLfuHashMap<Integer, Integer> map = new TinyLfuHashMap<>(100, (k, v) -> evicted[0]++);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                map.computeIfAbsent(i, k -> k);
+            }
+        }
+        for (int i = 1000; i < 11000; i++) {
+            map.computeIfAbsent(i, k -> k);
+        }
+        int hot = 0;
+        for (int i = 0; i < 50; i++) {
+            if (map.containsKey(i)) {
+                hot++;
+            }
+        }
+        // the last hot key is still in the window when the scan starts
+        assertThat(hot >= 49, is(true));
+        assertThat(map.size(), is(100));
+        assertThat(evicted[0], is(10050 - 100));
+
+        final LruHashMap<Integer, Integer> lru = new LruHashMap<>(100);
+        for (int i = 0; i < 50; i++) {
+            lru.put(i, i);
+        }
+        for (int i = 1000; i < 11000; i++) {
+            lru.put(i, i);
+        }
+        assertThat(lru.containsKey(0), is(false));
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.collection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class WeightedLruHashMapTest {
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testWeight() throws Exception {
+        final List<String> evicted = new ArrayList<>();
+        final WeightedLruHashMap<String, byte[]> map = new WeightedLruHashMap<>(100L, (k, v) -> v.length, (k, v) -> evicted.add(k));
+        map.put("aaa", new byte[30]);
+        map.put("bbb", new byte[30]);
+        map.put("ccc", new byte[30]);
+        assertThat(map.getTotalWeight(), is(90L));
+        assertThat(map.get("aaa").length, is(30));
+        map.put("ddd", new byte[50]);
+        assertThat(map.size(), is(2));
+        assertThat(map.getTotalWeight(), is(80L));
+        assertThat(evicted, is(Arrays.asList("bbb", "ccc")));
+        map.put("ddd", new byte[10]);
+        assertThat(map.getTotalWeight(), is(40L));
+        map.put("eee", new byte[200]);
+        assertThat(map.get("eee"), is(nullValue()));
+        assertThat(map.getTotalWeight(), is(40L));
+
+        final Iterator<String> itr = map.keySet().iterator();
+        assertThat(itr.next(), is("aaa"));
+        itr.remove();
+        assertThat(map.getTotalWeight(), is(10L));
+        map.clear();
+        assertThat(map.getTotalWeight(), is(0L));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testEstimatedSize() throws Exception {
+        assertThat(Weigher.estimateSize(null), is(0L));
+        assertThat(Weigher.estimateSize(new byte[100]), is(116L));
+        assertThat(Weigher.estimateSize("abc"), is(43L));
+        assertThat(Weigher.estimateSize(Arrays.asList("a", "b")) > Weigher.estimateSize("a") * 2, is(true));
+        final WeightedLruHashMap<String, String> map = new WeightedLruHashMap<>(1000L, Weigher.estimatedSize());
+        map.put("a", "b");
+        assertThat(map.getTotalWeight(), is(82L));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testEstimatedSize_cyclic() throws Exception {
+        final List<Object> list = new ArrayList<>();
+        list.add("a");
+        list.add(list);
+        final Object[] array = { list, null };
+        array[1] = array;
+        assertThat(Weigher.estimateSize(list), is(40L + 24L + 41L + 24L));
+        assertThat(Weigher.estimateSize(array), is(16L + 4L + Weigher.estimateSize(list) + 4L));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testSetValue_overweight() throws Exception {
+        final List<String> evicted = new ArrayList<>();
+        final WeightedLruHashMap<String, byte[]> map = new WeightedLruHashMap<>(100L, (k, v) -> v.length, (k, v) -> evicted.add(k));
+        map.put("aaa", new byte[30]);
+        map.put("bbb", new byte[30]);
+        for (final Map.Entry<String, byte[]> entry : map.entrySet()) {
+            if ("aaa".equals(entry.getKey())) {
+                entry.setValue(new byte[200]);
+                break;
+            }
+        }
+        assertThat(evicted, is(Arrays.asList("aaa")));
+        assertThat(map.get("bbb").length, is(30));
+        assertThat(map.getTotalWeight(), is(30L));
+    }
+
+}
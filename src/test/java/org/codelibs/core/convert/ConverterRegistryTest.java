@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.convert;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.codelibs.core.exception.InvocationTargetRuntimeException;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class ConverterRegistryTest {
+
+    /**
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        ConverterRegistry.clear();
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGetConverter() throws Exception {
+        assertThat(ConverterRegistry.getConverter(int.class).convert("12"), is((Object) 12));
+        assertThat(ConverterRegistry.getConverter(int.class).convert(null), is((Object) 0));
+        assertThat(ConverterRegistry.getConverter(Integer.class).convert(null), is(nullValue()));
+        assertThat(ConverterRegistry.getConverter(BigDecimal.class).convert(1), is((Object) new BigDecimal("1")));
+        assertThat(ConverterRegistry.getConverter(Boolean.class).convert("true"), is((Object) Boolean.TRUE));
+        assertThat(ConverterRegistry.getConverter(String.class).convert(3), is((Object) "3"));
+        assertThat(ConverterRegistry.getConverter(Timestamp.class).convert(new Date(0)), is((Object) new Timestamp(0)));
+        assertThat(ConverterRegistry.getConverter(Calendar.class).convert(new Date(0)), is(instanceOf(Calendar.class)));
+        assertThat(ConverterRegistry.getConverter(URL.class).convert("http://www.example.com/"),
+                is((Object) new URL("http://www.example.com/")));
+        assertThat(ConverterRegistry.getConverter(TimeUnit.class).convert("SECONDS"), is((Object) TimeUnit.SECONDS));
+        assertThat(ConverterRegistry.getConverter(TimeUnit.class).convert(TimeUnit.DAYS), is((Object) TimeUnit.DAYS));
+        final Object o = new Object();
+        assertThat(ConverterRegistry.getConverter(Object.class).convert(o), is(sameInstance(o)));
+
+        assertThat(ConverterRegistry.getConverter(Long.class), is(sameInstance(ConverterRegistry.getConverter(Long.class))));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGetConverter_exception() throws Exception {
+        assertThrows(InvocationTargetRuntimeException.class, () -> ConverterRegistry.getConverter(URL.class).convert("xxx"));
+        assertThrows(IllegalArgumentException.class, () -> ConverterRegistry.getConverter(TimeUnit.class).convert("xxx"));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testRegister() throws Exception {
+        final TypeConverter before = ConverterRegistry.getConverter(Integer.class);
+        ConverterRegistry.register(Boolean.class, Integer.class, value -> (Boolean) value ? 1 : 0);
+
+        assertThat(ConverterRegistry.getConverter(Boolean.class, Integer.class).convert(true), is((Object) 1));
+        assertThat(ConverterRegistry.getConverter(String.class, Integer.class).convert("2"), is((Object) 2));
+        final TypeConverter converter = ConverterRegistry.getConverter(Integer.class);
+        assertThat(converter.convert(false), is((Object) 0));
+        assertThat(converter.convert("3"), is((Object) 3));
+        assertThat(converter.convert(null), is(nullValue()));
+        assertThat(before.convert("4"), is((Object) 4));
+
+        ConverterRegistry.clear();
+        assertThat(ConverterRegistry.getConverter(Boolean.class, Integer.class),
+                is(sameInstance(NumberConversionUtil.getNumberConverter(Integer.class))));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.convert;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class DateFormatCacheTest {
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGetFormat() throws Exception {
+        final SimpleDateFormat format1 = DateFormatCache.getFormat("yyyy/MM/dd", Locale.JAPANESE);
+        final SimpleDateFormat format2 = DateFormatCache.getFormat("yyyy/MM/dd", Locale.JAPANESE);
+        assertThat(format1, is(not(sameInstance(format2))));
+        assertThat(format1.toPattern(), is("yyyy/MM/dd"));
+        assertThat(format1.format(format1.parse("2008/12/31")), is("2008/12/31"));
+
+        format1.setLenient(false);
+        assertThat(DateFormatCache.getFormat("yyyy/MM/dd", Locale.JAPANESE).isLenient(), is(true));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGetFormat_defaultTimeZone() throws Exception {
+        final TimeZone timeZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            DateFormatCache.getFormat("yyyyMMddHHmm", Locale.ENGLISH);
+            TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+            assertThat(DateFormatCache.getFormat("yyyyMMddHHmm", Locale.ENGLISH).getTimeZone().getID(), is("UTC"));
+        } finally {
+            TimeZone.setDefault(timeZone);
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGetStylePatterns() throws Exception {
+        final int[] styles = { DateFormat.SHORT, DateFormat.MEDIUM };
+        final String[] patterns =
+                DateFormatCache.getStylePatterns("test", styles, Locale.JAPANESE, DateFormat::getDateInstance, DateConversionUtil::toPlainPattern);
+        assertThat(patterns.length, is(4));
+        assertThat(patterns[0], is(((SimpleDateFormat) DateFormat.getDateInstance(DateFormat.SHORT, Locale.JAPANESE)).toPattern()));
+        assertThat(patterns[2], is(DateConversionUtil.toPlainPattern(patterns[0])));
+        assertThat(DateFormatCache.getStylePatterns("test", styles, Locale.JAPANESE, DateFormat::getDateInstance,
+                DateConversionUtil::toPlainPattern), is(sameInstance(patterns)));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testGetLiterals() throws Exception {
+        assertThat(DateFormatCache.getLiterals("yyyy/MM/dd"), is("/"));
+        assertThat(DateFormatCache.getLiterals("yyyy-MM-dd HH:mm:ss"), is("-:"));
+        assertThat(DateFormatCache.getLiterals("H'時'mm'分'"), is("時分"));
+        assertThat(DateFormatCache.getLiterals("hh 'o''clock' a"), is("o'clk"));
+        assertThat(DateFormatCache.getLiterals("yyyyMMdd"), is(""));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testParse() throws Exception {
+        assertThat(DateFormatCache.parse("2008/12/31", "yyyy/MM/dd", Locale.JAPANESE), is(
+                DateFormatCache.getFormat("yyyy/MM/dd", Locale.JAPANESE).parse("2008/12/31")));
+        assertThat(DateFormatCache.parse("2008-12-31", "yyyy/MM/dd", Locale.JAPANESE), is(nullValue()));
+        assertThat(DateFormatCache.parse("2008/12/31x", "yyyy/MM/dd", Locale.JAPANESE), is(nullValue()));
+        assertThat(DateFormatCache.parse("", "yyyyMMdd", Locale.JAPANESE), is(nullValue()));
+    }
+}
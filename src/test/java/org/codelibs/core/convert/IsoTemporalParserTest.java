@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.convert;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class IsoTemporalParserTest {
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testParseLocalDate() throws Exception {
+        for (final String str : new String[] { "2025-01-31", "0000-01-01", "2024-02-29", "9999-12-31" }) {
+            assertThat(str, IsoTemporalParser.parseLocalDate(str), is(LocalDate.parse(str)));
+        }
+        for (final String str : new String[] { "2025-1-31", "2025/01/31", "2025-13-01", "2025-00-01", "2025-02-29", "2025-04-31",
+                "2025-01-00", "+12025-01-31", "2025-01-3a", "20250131" }) {
+            assertThat(str, IsoTemporalParser.parseLocalDate(str), is(nullValue()));
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testParseLocalTime() throws Exception {
+        for (final String str : new String[] { "00:00", "23:59", "12:34:56", "12:34:56.7", "12:34:56.789", "12:34:56.123456789" }) {
+            assertThat(str, IsoTemporalParser.parseLocalTime(str), is(LocalTime.parse(str)));
+        }
+        for (final String str : new String[] { "24:00", "12:60", "12:34:60", "12:34:56.", "12:34:56.1234567890", "12:34:5", "1:23",
+                "12-34", "12:34:56,7", "12:34:56.7x" }) {
+            assertThat(str, IsoTemporalParser.parseLocalTime(str), is(nullValue()));
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testParseLocalDateTime() throws Exception {
+        for (final String str : new String[] { "2025-01-31T12:34", "2025-01-31t12:34:56", "2025-01-31T12:34:56.000001" }) {
+            assertThat(str, IsoTemporalParser.parseLocalDateTime(str), is(LocalDateTime.parse(str)));
+        }
+        for (final String str : new String[] { "2025-01-31 12:34:56", "2025-01-31T", "2025-01-31T12:34Z", "2025-02-30T12:34" }) {
+            assertThat(str, IsoTemporalParser.parseLocalDateTime(str), is(nullValue()));
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testParseOffsetDateTime() throws Exception {
+        for (final String str : new String[] { "2025-01-31T12:34Z", "2025-01-31T12:34:56z", "2025-01-31T12:34:56.789+09:00",
+                "2025-01-31T12:34:56-05:30", "2025-01-31T12:34:56+18:00", "2025-01-31T12:34:56+01:02:03" }) {
+            assertThat(str, IsoTemporalParser.parseOffsetDateTime(str), is(OffsetDateTime.parse(str)));
+        }
+        for (final String str : new String[] { "2025-01-31T12:34:56", "2025-01-31T12:34:56+0900", "2025-01-31T12:34:56+09",
+                "2025-01-31T12:34:56+18:01", "2025-01-31T12:34:56+09:60", "2025-01-31T12:34:56ZZ",
+                "2025-01-31T12:34:56+09:00[Asia/Tokyo]" }) {
+            assertThat(str, IsoTemporalParser.parseOffsetDateTime(str), is(nullValue()));
+        }
+    }
+}
@@ -15,12 +15,14 @@
  */
 package org.codelibs.core.convert;
 
+import java.math.BigDecimal;
 import java.text.DecimalFormatSymbols;
 import java.util.Locale;
 
 import junit.framework.TestCase;
 
 import org.codelibs.core.misc.LocaleUtil;
+import org.codelibs.core.text.DecimalFormatUtil;
 
 /**
  * @author shot
@@ -99,4 +101,72 @@ public class NumberConversionUtilTest extends TestCase {
     public void testRemoveDelimeter() throws Exception {
         assertEquals("1000000.234", NumberConversionUtil.removeDelimeter("1,000,000.234", Locale.JAPAN));
     }
+
+    /**
+     * @throws Exception
+     */
+    public void testParseInt() throws Exception {
+        assertEquals(1000000, NumberConversionUtil.parseInt("1,000,000", Locale.JAPAN));
+        assertEquals(-1234, NumberConversionUtil.parseInt("-1.234", Locale.GERMAN));
+        assertEquals(12, NumberConversionUtil.parseInt(new StringBuilder("+12"), Locale.JAPAN));
+        assertEquals(Integer.MAX_VALUE, NumberConversionUtil.parseInt("2,147,483,647", Locale.JAPAN));
+        assertEquals(Integer.MIN_VALUE, NumberConversionUtil.parseInt("-2,147,483,648", Locale.JAPAN));
+        for (final String s : new String[] { "", "-", ",", "2,147,483,648", "1.5", "1a", " 1" }) {
+            try {
+                NumberConversionUtil.parseInt(s, Locale.JAPAN);
+                fail(s);
+            } catch (final NumberFormatException e) {
+                // ok
+            }
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    public void testParseLong() throws Exception {
+        assertEquals(Long.MAX_VALUE, NumberConversionUtil.parseLong("9,223,372,036,854,775,807", Locale.JAPAN));
+        assertEquals(Long.MIN_VALUE, NumberConversionUtil.parseLong("-9,223,372,036,854,775,808", Locale.JAPAN));
+        try {
+            NumberConversionUtil.parseLong("9,223,372,036,854,775,808", Locale.JAPAN);
+            fail();
+        } catch (final NumberFormatException e) {
+            // ok
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    public void testParseDouble() throws Exception {
+        for (final String s : new String[] { "1,000.25", "-0", "0.1", ".5", "1.", "123,456,789.012345", "9007199254740993",
+                "0.30000000000000004", "1.5e3", " 2.5 ", "Infinity" }) {
+            assertEquals(s, Double.parseDouble(DecimalFormatUtil.normalize(s, Locale.JAPAN)),
+                    NumberConversionUtil.parseDouble(s, Locale.JAPAN));
+        }
+        assertEquals(1234.5, NumberConversionUtil.parseDouble("1.234,5", Locale.GERMAN));
+        try {
+            NumberConversionUtil.parseDouble("1,2x", Locale.JAPAN);
+            fail();
+        } catch (final NumberFormatException e) {
+            // ok
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    public void testParseBigDecimal() throws Exception {
+        for (final String s : new String[] { "1,000.250", "-0.0", "12345678901234567890.5", "1E+3", "+.5" }) {
+            assertEquals(s, new BigDecimal(DecimalFormatUtil.normalize(s, Locale.JAPAN)),
+                    NumberConversionUtil.parseBigDecimal(s, Locale.JAPAN));
+        }
+        assertEquals(new BigDecimal("-1234.50"), NumberConversionUtil.parseBigDecimal("-1.234,50", Locale.GERMAN));
+        try {
+            NumberConversionUtil.parseBigDecimal(".", Locale.JAPAN);
+            fail();
+        } catch (final NumberFormatException e) {
+            // ok
+        }
+    }
 }
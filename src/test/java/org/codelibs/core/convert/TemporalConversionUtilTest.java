@@ -345,6 +345,15 @@ public class TemporalConversionUtilTest {
         assertThat(toInstant("2010-09-07T06:05:04Z"), is(INSTANT));
     }
 
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testToInstant_StringWithOffset() throws Exception {
+        assertThat(toInstant("2010-09-07T15:05:04+09:00"), is(INSTANT));
+        assertThat(toInstant("2010-09-07T06:05:04.123456789Z"), is(Instant.parse("2010-09-07T06:05:04.123456789Z")));
+    }
+
     /**
      * @throws Exception
      */
@@ -477,6 +486,15 @@ public class TemporalConversionUtilTest {
         assertThat(toZonedDateTime("2010-09-07T06:05:04Z", UTC), is(ZonedDateTime.parse("2010-09-07T06:05:04Z")));
     }
 
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testToZonedDateTime_StringWithZoneId() throws Exception {
+        final String str = "2010-09-07T15:05:04+09:00[Asia/Tokyo]";
+        assertThat(toZonedDateTime(str, UTC), is(ZonedDateTime.parse(str)));
+    }
+
     /**
      * @throws Exception
      */
@@ -200,6 +200,16 @@ public class ClassUtilTest {
         assertThat(ClassUtil.convertClass("java.lang.String"), is(sameClass(String.class)));
     }
 
+    /**
+     *
+     */
+    @Test
+    public void testConvertClass_withClassLoader() {
+        final ClassLoader loader = getClass().getClassLoader();
+        assertThat(ClassUtil.convertClass("long", loader), is(sameClass(long.class)));
+        assertThat(ClassUtil.convertClass("[Ljava.lang.String;", loader), is(sameClass(String[].class)));
+    }
+
     /**
      * A class with an accessible no-arg constructor is instantiated.
      */
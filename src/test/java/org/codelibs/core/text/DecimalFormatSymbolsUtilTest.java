@@ -49,4 +49,14 @@ public class DecimalFormatSymbolsUtilTest extends TestCase {
         assertFalse(first == second);
         assertEquals(originalDecimalSeparator, second.getDecimalSeparator());
     }
+
+    /**
+     * @throws Exception
+     */
+    public void testGetSeparators() throws Exception {
+        assertEquals(',', DecimalFormatSymbolsUtil.getGroupingSeparator(Locale.US));
+        assertEquals('.', DecimalFormatSymbolsUtil.getDecimalSeparator(Locale.US));
+        assertEquals('.', DecimalFormatSymbolsUtil.getGroupingSeparator(Locale.GERMAN));
+        assertEquals(',', DecimalFormatSymbolsUtil.getDecimalSeparator(Locale.GERMAN));
+    }
 }
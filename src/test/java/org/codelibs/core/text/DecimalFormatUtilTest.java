@@ -32,5 +32,7 @@ public class DecimalFormatUtilTest extends TestCase {
         assertEquals("1", "1000.00", DecimalFormatUtil.normalize("1,000.00", Locale.JAPAN));
         assertEquals("2", "1000", DecimalFormatUtil.normalize("1,000", Locale.JAPAN));
         assertEquals("3", "1000.00", DecimalFormatUtil.normalize("1.000,00", Locale.GERMAN));
+        final String s = "1000.00";
+        assertSame("4", s, DecimalFormatUtil.normalize(s, Locale.JAPAN));
     }
 }
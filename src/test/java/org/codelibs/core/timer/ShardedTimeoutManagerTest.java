@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.timer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class ShardedTimeoutManagerTest {
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testAddTimeoutTarget() throws Exception {
+        final ShardedTimeoutManager manager = new ShardedTimeoutManager("test", 4);
+        try {
+            assertThat(manager.getShards().size(), is(4));
+            assertThat(manager.getShards().get(1).getName(), is("test-1"));
+
+            final int threads = 8;
+            final CountDownLatch expired = new CountDownLatch(threads);
+            final List<Thread> list = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final Thread thread = new Thread(() -> {
+                    manager.addTimeoutTarget(expired::countDown, Duration.ofMillis(50L), false);
+                    manager.addTimeoutTarget(() -> {}, 60, false).cancel();
+                });
+                list.add(thread);
+                thread.start();
+            }
+            for (final Thread thread : list) {
+                thread.join();
+            }
+            assertTrue(expired.await(2, TimeUnit.SECONDS));
+            Thread.sleep(100L);
+            assertThat(manager.getTimeoutTaskCount(), is(0));
+
+            manager.addTimeoutTarget(() -> {}, 60, false);
+            assertThat(manager.getTimeoutTaskCount(), is(1));
+            manager.clear();
+            assertThat(manager.getTimeoutTaskCount(), is(0));
+        } finally {
+            manager.stop();
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testAddTimeoutTarget_singleThread() throws Exception {
+        final ShardedTimeoutManager manager = new ShardedTimeoutManager("test", 4);
+        try {
+            for (int i = 0; i < 100; i++) {
+                manager.addTimeoutTarget(new TimeoutTarget() {
+                    @Override
+                    public void expired() {
+                    }
+                }, 60, false);
+            }
+            assertThat(manager.getTimeoutTaskCount(), is(100));
+            for (final TimeoutManager shard : manager.getShards()) {
+                assertTrue(shard.getTimeoutTaskCount() > 0);
+            }
+        } finally {
+            manager.clear();
+            manager.stop();
+        }
+    }
+
+}
@@ -15,8 +15,19 @@
  */
 package org.codelibs.core.timer;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 import junit.framework.TestCase;
 
+import org.codelibs.core.exception.ClIllegalStateException;
+
 /**
  * @author higa
  *
@@ -65,4 +76,95 @@ public class TimeoutManagerTest extends TestCase {
         assertNull(TimeoutManager.getInstance().thread);
     }
 
+    /**
+     * @throws Exception
+     */
+    public void testExpiredWithDuration() throws Exception {
+        final long start = System.currentTimeMillis();
+        final long[] expiredTime = new long[1];
+        TimeoutTask task = TimeoutManager.getInstance().addTimeoutTarget(() -> {
+            expiredTime[0] = System.currentTimeMillis();
+        }, Duration.ofMillis(100L), false);
+        assertEquals(100L, task.getTimeoutMillis());
+        Thread.sleep(600);
+        assertTrue(expiredTime[0] - start >= 100L);
+        assertTrue(expiredTime[0] - start < 500L);
+        assertEquals(0, TimeoutManager.getInstance().getTimeoutTaskCount());
+    }
+
+    /**
+     * @throws Exception
+     */
+    public void testSlowTargetDoesNotBlockOthers() throws Exception {
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch expired = new CountDownLatch(10);
+        try {
+            TimeoutManager.getInstance().addTimeoutTarget(() -> {
+                try {
+                    blocker.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, Duration.ofMillis(10L), false);
+            for (int i = 0; i < 10; i++) {
+                TimeoutManager.getInstance().addTimeoutTarget(expired::countDown, Duration.ofMillis(50L), false);
+            }
+            assertTrue(expired.await(2, TimeUnit.SECONDS));
+        } finally {
+            blocker.countDown();
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    public void testMetrics() throws Exception {
+        final TimeoutMetrics metrics = TimeoutManager.getInstance().getMetrics();
+        final long expired = metrics.getExpiredTaskCount();
+        final long canceled = metrics.getCanceledTaskCount();
+        final CountDownLatch latch = new CountDownLatch(1);
+        TimeoutManager.getInstance().addTimeoutTarget(latch::countDown, Duration.ofMillis(10L), false);
+        TimeoutManager.getInstance().addTimeoutTarget(() -> {}, Duration.ofMinutes(1L), false).cancel();
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(expired + 1, metrics.getExpiredTaskCount());
+        assertEquals(canceled + 1, metrics.getCanceledTaskCount());
+        long total = 0;
+        for (final long count : metrics.getExpiryLagHistogram()) {
+            total += count;
+        }
+        assertTrue(total > 0);
+        assertTrue(metrics.getMaxExpiryLagMillis() >= 0);
+
+        final ObjectName name = TimeoutManager.getInstance().registerMBean();
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(metrics.getExpiredTaskCount(), server.getAttribute(name, "ExpiredTaskCount"));
+        } finally {
+            TimeoutManager.getInstance().unregisterMBean();
+        }
+    }
+
+    /**
+     * @throws Exception
+     */
+    public void testRegisterMBean_sameName() throws Exception {
+        final TimeoutManager manager1 = new TimeoutManager("mbeanTest");
+        final TimeoutManager manager2 = new TimeoutManager("mbeanTest");
+        final ObjectName name = manager1.registerMBean();
+        try {
+            assertSame(name, manager1.registerMBean());
+            try {
+                manager2.registerMBean();
+                fail();
+            } catch (final ClIllegalStateException e) {
+                assertTrue(e.getCause() instanceof InstanceAlreadyExistsException);
+            }
+            manager2.unregisterMBean();
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        } finally {
+            manager1.unregisterMBean();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.core.timer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @author shinsuke
+ */
+public class TimerWheelTest {
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testExpire() throws Exception {
+        final long now = System.currentTimeMillis();
+        final TimerWheel wheel = new TimerWheel(1000L, 2, now);
+        final TimeoutTask task0 = newTask(0);
+        final TimeoutTask task1 = newTask(1);
+        final TimeoutTask task100 = newTask(100);
+        final TimeoutTask task5000 = newTask(5000);
+        wheel.schedule(task0, now);
+        wheel.schedule(task1, now);
+        wheel.schedule(task100, now);
+        wheel.schedule(task5000, now);
+        assertThat(wheel.size(), is(4));
+
+        assertExpired(wheel, task0.getDeadline(), task0);
+        assertExpired(wheel, task1.getDeadline() - 1);
+        assertExpired(wheel, task1.getDeadline(), task1);
+        assertExpired(wheel, task100.getDeadline() - 1);
+        assertExpired(wheel, task100.getDeadline(), task100);
+        assertExpired(wheel, task5000.getDeadline() - 1);
+        assertExpired(wheel, task5000.getDeadline(), task5000);
+        assertThat(wheel.isEmpty(), is(true));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testRemoveAndPark() throws Exception {
+        final long now = System.currentTimeMillis();
+        final TimerWheel wheel = new TimerWheel(1000L, 2, now);
+        final TimeoutTask task1 = newTask(1);
+        final TimeoutTask task2 = newTask(2);
+        final TimeoutTask task3 = newTask(3);
+        wheel.schedule(task1, now);
+        wheel.schedule(task2, now);
+        wheel.schedule(task3, now);
+
+        wheel.remove(task2);
+        assertThat(wheel.contains(task2), is(false));
+        wheel.park(task3);
+        assertThat(wheel.contains(task3), is(true));
+        assertThat(wheel.size(), is(2));
+
+        assertExpired(wheel, task3.getDeadline() + 1000L, task1);
+        assertThat(wheel.size(), is(1));
+
+        final List<TimeoutTask> cleared = new ArrayList<>();
+        wheel.clear(cleared::add);
+        assertThat(cleared.size(), is(1));
+        assertThat(cleared.get(0), is(task3));
+        assertThat(wheel.isEmpty(), is(true));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testNextExpiration() throws Exception {
+        final long now = System.currentTimeMillis();
+        final TimerWheel wheel = new TimerWheel(10L, 3, now);
+        assertThat(wheel.nextExpiration(), is(Long.MAX_VALUE));
+
+        final TimeoutTask task = newTask(100);
+        wheel.schedule(task, now);
+        final long next = wheel.nextExpiration();
+        assertThat(next <= task.getDeadline(), is(true));
+        assertThat(next > now, is(true));
+
+        final TimeoutTask shortTask = new TimeoutTask(() -> {}, 25L, false);
+        wheel.schedule(shortTask, now);
+        assertThat(wheel.nextExpiration(), is(shortTask.getDeadline()));
+
+        long time = now;
+        int expiredCount = 0;
+        while (!wheel.isEmpty()) {
+            time = wheel.nextExpiration();
+            final List<TimeoutTask> expired = new ArrayList<>();
+            wheel.expire(time, expired);
+            for (final TimeoutTask t : expired) {
+                assertThat(t.getDeadline() <= time, is(true));
+                expiredCount++;
+            }
+        }
+        assertThat(expiredCount, is(2));
+        assertThat(time, is(task.getDeadline()));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testNextExpiration_removed() throws Exception {
+        final long now = System.currentTimeMillis();
+        final TimerWheel wheel = new TimerWheel(10L, 3, now);
+        final TimeoutTask task1 = new TimeoutTask(() -> {}, 25L, false);
+        final TimeoutTask task2 = new TimeoutTask(() -> {}, 28L, false);
+        wheel.schedule(task1, now);
+        wheel.schedule(task2, now);
+        assertThat(wheel.nextExpiration(), is(task1.getDeadline()));
+
+        // the removed deadline is still returned until its bucket is expired if both share the bucket
+        wheel.remove(task1);
+        final long next = wheel.nextExpiration();
+        assertThat(next >= task1.getDeadline() && next <= task2.getDeadline(), is(true));
+        if (next < task2.getDeadline()) {
+            assertExpired(wheel, next);
+        }
+        assertThat(wheel.nextExpiration(), is(task2.getDeadline()));
+        assertExpired(wheel, task2.getDeadline(), task2);
+        assertThat(wheel.isEmpty(), is(true));
+    }
+
+    /**
+     * @throws Exception
+     */
+    @Test
+    public void testScheduleAfterIdle() throws Exception {
+        final long now = System.currentTimeMillis();
+        // the wheel has not been advanced for a day
+        final TimerWheel wheel = new TimerWheel(10L, 3, now - 24L * 60 * 60 * 1000);
+        final TimeoutTask task = new TimeoutTask(() -> {}, 25L, false);
+        wheel.schedule(task, now);
+        assertThat(wheel.nextExpiration(), is(task.getDeadline()));
+
+        assertExpired(wheel, task.getDeadline() - 1);
+        assertExpired(wheel, task.getDeadline(), task);
+        assertThat(wheel.isEmpty(), is(true));
+    }
+
+    private TimeoutTask newTask(final int timeout) {
+        return new TimeoutTask(() -> {}, timeout * 1000L, false);
+    }
+
+    private void assertExpired(final TimerWheel wheel, final long now, final TimeoutTask... tasks) {
+        final List<TimeoutTask> expired = new ArrayList<>();
+        wheel.expire(now, expired);
+        assertThat(expired.size(), is(tasks.length));
+        for (int i = 0; i < tasks.length; i++) {
+            assertThat(expired.get(i), is(tasks[i]));
+            assertThat(wheel.contains(tasks[i]), is(false));
+        }
+    }
+}